@@ -0,0 +1,88 @@
+package com.belvinard.blog_api.aspects;
+
+import com.belvinard.blog_api.exceptions.ServiceBusyException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead in front of the connection pool: at most max-concurrent-calls
+ * threads (the Hikari pool size by default) run database work at once; the
+ * others wait in a fair queue, which only parks them when running on virtual
+ * threads, and get a 503 after max-wait.
+ * <p>
+ * Guards transactional methods and repository calls. The outermost guarded
+ * call takes the permit and nested ones run under it, so a thread holds at
+ * most one permit, always before it holds a connection. Ordered inside the
+ * cache interceptor (cache hits need no permit) and outside the transaction
+ * interceptor.
+ * <p>
+ * This only rules out a deadlock against the pool if the connection is
+ * returned when the guarded call returns, i.e. with spring.jpa.open-in-view
+ * off. With it on, a request keeps its connection until it completes, and
+ * its next service call would wait for a permit while holding one.
+ * <p>
+ * There is one set of permits for all databases: the target is only chosen
+ * when the first statement runs. With read replicas configured, reads to a
+ * replica take permits sized from the primary pool as well, which keeps the
+ * primary safe but caps all database work at one pool's worth. Raising
+ * max-concurrent-calls lets replica reads use their own pools, at the price
+ * of writes possibly waiting inside Hikari (connection-timeout) again.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "blog.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadAspect {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final ThreadLocal<Boolean> holdsPermit = new ThreadLocal<>();
+
+    public DatabaseBulkheadAspect(
+            @Value("${blog.bulkhead.max-concurrent-calls:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentCalls,
+            @Value("${blog.bulkhead.max-wait:5s}") Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Around("@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(jakarta.transaction.Transactional)"
+            + " || execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holdsPermit.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceBusyException("The service is busy, please retry later");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the database");
+        }
+
+        holdsPermit.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holdsPermit.remove();
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,82 @@
+package com.belvinard.blog_api.aspects;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every endpoint of the article and comment controllers and every
+ * method of their services as blog.calls, tagged with layer, class, method
+ * and exception ("none", or the simple name of the exception thrown, so
+ * the counts per exception are the error counts). Published as a
+ * percentile histogram.
+ * <p>
+ * Outermost of all advice, so the time includes cache lookups, waits in
+ * the database bulkhead and commits.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodMetricsAspect {
+
+    static final String METRIC = "blog.calls";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+    // Built once per method and outcome: registering on every call costs more than the call itself
+    private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("(execution(public * com.belvinard.blog_api.controllers.ArticleController.*(..))"
+            + " || execution(public * com.belvinard.blog_api.controllers.CommentController.*(..)))"
+            + " && !@annotation(org.springframework.web.bind.annotation.ExceptionHandler)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.belvinard.blog_api.service.impl.ArticleServiceImpl.*(..))"
+            + " || execution(public * com.belvinard.blog_api.service.impl.CommentServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        long started = System.nanoTime();
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timer(method, layer, exception).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Method method, String layer, String exception) {
+        return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(exception, key -> Timer.builder(METRIC)
+                        .description("Latency of controller and service methods")
+                        .tag("layer", layer)
+                        .tag("class", method.getDeclaringClass().getSimpleName())
+                        .tag("method", method.getName())
+                        .tag("exception", exception)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+}
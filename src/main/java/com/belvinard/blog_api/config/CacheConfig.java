@@ -0,0 +1,17 @@
+package com.belvinard.blog_api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The cache interceptor runs outside the transaction interceptor, so
+ * evictions and refreshes happen only once the write has committed.
+ * Size, TTL and stats are set with spring.cache.caffeine.spec.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    public static final String ARTICLES_CACHE = "articles";
+}
@@ -0,0 +1,53 @@
+package com.belvinard.blog_api.config;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.ArticleField;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Puts the ?fields= filter on ArticleDTO through a mix-in, so the DTO stays
+ * usable with any ObjectMapper. The filter lets every property through
+ * unless a response brings its own (MappingJacksonValue).
+ * <p>
+ * Also registers CBOR and Smile converters for callers that ask for them in
+ * Accept. They are built like the JSON ObjectMapper (modules, date format,
+ * the filter above) and come after it, so JSON stays the default.
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @JsonFilter(ArticleField.FILTER)
+    interface ArticleFieldsMixIn {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer articleFieldsFilter() {
+        return builder -> builder
+                .mixIn(ArticleDTO.class, ArticleFieldsMixIn.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    // The builder bean is a prototype: each converter gets its own
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,29 @@
+package com.belvinard.blog_api.config;
+
+import com.belvinard.blog_api.ratelimit.RateLimitInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the per-client rate limits on the API endpoints; actuator and
+ * Swagger are left out.
+ */
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    // Absent when blog.rate-limit.enabled=false
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfig(ObjectProvider<RateLimitInterceptor> rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor.getIfAvailable();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitInterceptor != null) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.belvinard.blog_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background maintenance jobs (see the jobs package). Runs on the
+ * auto-configured single-thread scheduler, or on virtual threads when
+ * spring.threads.virtual.enabled is set.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
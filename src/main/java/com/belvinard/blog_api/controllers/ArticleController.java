@@ -1,12 +1,26 @@
 package com.belvinard.blog_api.controllers;
 
+import com.belvinard.blog_api.config.JacksonConfig;
 import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.ArticleField;
+import com.belvinard.blog_api.dtos.ResourceVersion;
 import com.belvinard.blog_api.entity.Article;
 import com.belvinard.blog_api.exceptions.APIException;
 import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.exceptions.ServiceBusyException;
+import com.belvinard.blog_api.exceptions.TooManyRequestsException;
 import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.responses.ArticleSearchResponse;
+import com.belvinard.blog_api.responses.BulkArticleResponse;
 import com.belvinard.blog_api.responses.MyErrorResponses;
 import com.belvinard.blog_api.service.ArticleService;
+import com.belvinard.blog_api.snapshots.ArticlePageSnapshots;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,33 +31,75 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
+@Profile("!reactive")  // ReactiveArticleController serves these paths in the reactive profile
 @RequestMapping("/api/articles")
 @Tag(name = "Article Management", description = "Endpoints for managing blog articles")
 public class ArticleController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // Served on Accept besides JSON, see JacksonConfig
+    private static final List<MediaType> BINARY_FORMATS = List.of(MediaType.APPLICATION_CBOR, JacksonConfig.SMILE);
+
     private final ArticleService articleService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
+    // Absent when blog.article-snapshots.enabled=false
+    private final ArticlePageSnapshots snapshots;
+    private final ContentNegotiationManager contentNegotiationManager;
 
-    public ArticleController(ArticleService articleService) {
+    public ArticleController(ArticleService articleService, ObjectMapper objectMapper,
+                             ObjectProvider<ArticlePageSnapshots> snapshots,
+                             ContentNegotiationManager contentNegotiationManager) {
         this.articleService = articleService;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.snapshots = snapshots.getIfAvailable();
+        this.contentNegotiationManager = contentNegotiationManager;
     }
 
     // ==================== GET ALL ARTICLE
     @Operation(
             summary = "Retrieve all articles",
             description = """
-        Returns the complete list of articles stored in the database.
-        This API is accessible without authentication. Each article may include comments
-        related to the article for better understanding and feedback.
+        Returns one page of articles, newest first.
+        This API is accessible without authentication. Each article embeds its newest
+        comments and its total commentCount; use GET /api/articles/{articleId}/comments
+        to page through all of them.
+        Pass the returned nextCursor as cursor to fetch the following page.
+        Responses carry ETag and Last-Modified; send them back as If-None-Match or
+        If-Modified-Since to get 304 Not Modified while the page is unchanged.
+        The first page is served from a precomputed snapshot, gzip-encoded when the
+        request accepts it.
+        Pass fields (e.g. articleId,title,publicationDate) to get only those fields; leaving
+        out content and comments spares reading the article bodies and the comment previews.
+        Send Accept: application/cbor or application/x-jackson-smile for a binary encoding.
     """
     )
     @ApiResponses(value = {
@@ -64,18 +120,19 @@ public class ArticleController {
             "lastUpdated": "2025-04-04T18:14:46.978817",
             "comments": [
                 {
-                    "createdAt": "2025-04-03T16:20:06.330759",
-                    "text": "This article provides a great introduction to HTML5 basics!"
+                    "createdAt": "2025-04-03T16:29:59.650286",
+                    "text": "Great article! Very informative."
                 },
                 {
                     "createdAt": "2025-04-03T16:22:45.314917",
                     "text": "This article provides a great introduction to HTML5 basics!"
                 },
                 {
-                    "createdAt": "2025-04-03T16:29:59.650286",
-                    "text": "Great article! Very informative."
+                    "createdAt": "2025-04-03T16:20:06.330759",
+                    "text": "This article provides a great introduction to HTML5 basics!"
                 }
-            ]
+            ],
+            "commentCount": 12
         },
         {
             "articleId": 2,
@@ -83,18 +140,159 @@ public class ArticleController {
             "content": "Learn the differences and use cases for CSS Grid and Flexbox in modern web design.",
             "publicationDate": "2025-04-03T15:11:41.467586",
             "lastUpdated": "2025-04-03T15:11:41.467586",
-            "comments": []
+            "comments": [],
+            "commentCount": 0
         }
-    ]
+    ],
+    "nextCursor": "MjAyNS0wNC0wM1QxNToxMTo0MS40Njc1ODZ8Mg",
+    "hasMore": true
 }
                         """)
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag or date sent")
     })
     @GetMapping
-    public ResponseEntity<ArticleResponse> getAllArticles() {
-        ArticleResponse articles = articleService.getAllArticles();
-        return ResponseEntity.ok(articles);
+    public ResponseEntity<?> getAllArticles(
+            @Parameter(description = "Number of articles per page (1-100)")
+            @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated article fields to return, all of them by default")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        Set<ArticleField> selected = ArticleField.parse(fields);
+        MediaType binaryFormat = binaryFormat(webRequest);
+        if (snapshots != null && (cursor == null || cursor.isBlank())
+                && selected.equals(ArticleField.ALL) && binaryFormat == null) {
+            return firstPage(snapshots.firstPage(pageSize), acceptEncoding, webRequest);
+        }
+
+        // Validators come first and cheaply; if the page changes in between, the
+        // body is newer than its ETag and the client simply refetches next time
+        ResourceVersion version = representation(articleService.getArticlesVersion(pageSize, cursor),
+                selected, binaryFormat);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;  // 304 Not Modified, headers already set
+        }
+
+        ArticleResponse articles = articleService.getAllArticles(pageSize, cursor, selected);
+        return withValidators(ResponseEntity.ok(), version).body(withFields(articles, selected));
+    }
+
+    // ==================== SEARCH ARTICLES
+    @Operation(
+            summary = "Search articles",
+            description = """
+        Ranked full-text search over article titles and contents.
+        The query accepts web-search syntax: quoted phrases, OR, and -excluded words.
+        Deployments using the in-memory search engine (blog.search.engine=memory) require every word,
+        and support -excluded words and prefix* words instead.
+        Matches in the title rank higher; matched terms are wrapped in <b></b> in the highlights.
+        Pass the returned nextCursor as cursor to fetch the following page.
+    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Matching articles, best match first",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ArticleSearchResponse.class),
+                            examples = @ExampleObject(value = """
+{
+    "content": [
+        {
+            "articleId": 1,
+            "title": "Introduction to HTML5",
+            "publicationDate": "2025-04-03T15:08:33.492405",
+            "rank": 0.6079271,
+            "titleHighlight": "Introduction to <b>HTML5</b>",
+            "contentHighlight": "<b>HTML5</b> is the latest version of the HyperText Markup Language"
+        }
+    ],
+    "nextCursor": null,
+    "hasMore": false
+}
+                        """)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing or too long query",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MyErrorResponses.class),
+                            examples = @ExampleObject(value = """
+        {
+            "code": "BAD_REQUEST",
+            "message": "Search query cannot be blank"
+        }
+        """)
+                    )
+            )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<ArticleSearchResponse> searchArticles(
+            @Parameter(description = "Search terms", required = true)
+            @RequestParam("q") String query,
+            @Parameter(description = "Number of results per page (1-100)")
+            @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor) {
+        ArticleSearchResponse results = articleService.searchArticles(query, pageSize, cursor);
+        return ResponseEntity.ok(results);
+    }
+
+    // ==================== EXPORT ARTICLES
+    @Operation(
+            summary = "Export all articles as NDJSON",
+            description = """
+        Streams every article with all of its comments, one JSON document per line.
+        The export is read through a database cursor, so it starts immediately and
+        uses constant memory whatever the number of articles.
+    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Articles streamed successfully",
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(value = """
+{"articleId":1,"title":"Introduction to HTML5","content":"HTML5 is the latest version...","publicationDate":"2025-04-03T15:08:33.492405","lastUpdated":"2025-04-04T18:14:46.978817","comments":[{"text":"Great article! Very informative.","createdAt":"2025-04-03T16:29:59.650286"}],"commentCount":1}
+{"articleId":2,"title":"CSS Grid vs Flexbox","content":"Learn the differences...","publicationDate":"2025-04-03T15:11:41.467586","lastUpdated":"2025-04-03T15:11:41.467586","comments":[],"commentCount":0}
+                        """)
+                    )
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles() {
+        StreamingResponseBody body = outputStream -> {
+            // One generator for the whole dump, writing each article straight into the
+            // response buffer; flushes are left to the buffer, except for the first line
+            boolean[] first = {true};
+            try (JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(StreamUtils.nonClosing(outputStream))) {
+                generator.setRootValueSeparator(null);
+                articleService.exportArticles(articleDTO -> {
+                    try {
+                        exportWriter.writeValue(generator, articleDTO);
+                        generator.writeRaw('\n');
+                        if (first[0]) {
+                            generator.flush();  // Get the first bytes out right away
+                            first[0] = false;
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     // ==================== CREATEARTICLE
@@ -103,6 +301,7 @@ public class ArticleController {
             description = """
     Adds a new article to the blog.
     The request must include a valid article object with a title and content.
+    Writes are rate limited per client; over the limit the response is 429.
 """
     )
     @ApiResponses(value = {
@@ -133,6 +332,14 @@ public class ArticleController {
         }
         """)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded, retry after the Retry-After delay",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MyErrorResponses.class)
+                    )
             )
     })
     @PostMapping
@@ -143,12 +350,67 @@ public class ArticleController {
     }
 
 
+    // ==================== BULK CREATE ARTICLES
+    @Operation(
+            summary = "Create many articles at once",
+            description = """
+        Creates up to 5000 articles in a single request, inserted in JDBC batches.
+        Each item is validated on its own: the response lists, in request order,
+        whether it was CREATED, a DUPLICATE title or INVALID.
+    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Bulk request processed, see the per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkArticleResponse.class),
+                            examples = @ExampleObject(value = """
+        {
+            "created": 1,
+            "failed": 1,
+            "results": [
+                { "index": 0, "status": "CREATED", "articleId": 51, "message": null },
+                { "index": 1, "status": "DUPLICATE", "articleId": null,
+                  "message": "Article with the name CSS Grid vs Flexbox already exists" }
+            ]
+        }
+        """)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or oversized request",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MyErrorResponses.class),
+                            examples = @ExampleObject(value = """
+        {
+            "code": "BAD_REQUEST",
+            "message": "At most 5000 articles can be created at once"
+        }
+        """)
+                    )
+            )
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkArticleResponse> createArticles(
+            @RequestBody List<ArticleDTO> articleDTOs) {
+        BulkArticleResponse response = articleService.createArticles(articleDTOs);
+        return ResponseEntity.ok(response);
+    }
+
+
     // ==================== GET ARTICLE BY ID
     @Operation(
             summary = "Get an article by ID",
             description = """
         Retrieves a single article based on the provided ID.
         The article ID must be valid and exist in the database.
+        Supports conditional requests (If-None-Match / If-Modified-Since -> 304).
+        Pass fields (e.g. articleId,title,publicationDate) to get only those fields.
+        Send Accept: application/cbor or application/x-jackson-smile for a binary encoding.
     """
     )
     @ApiResponses(value = {
@@ -169,6 +431,7 @@ public class ArticleController {
         """)
                     )
             ),
+            @ApiResponse(responseCode = "304", description = "Article unchanged since the ETag or date sent"),
             @ApiResponse(
                     responseCode = "404",
                     description = "Article not found",
@@ -199,11 +462,35 @@ public class ArticleController {
             )
     })
     @GetMapping("/{articleId}")
-    public ResponseEntity<ArticleDTO> getArticleById(
+    public ResponseEntity<?> getArticleById(
             @Parameter(description = "ID of the article to be retrieved", required = true)
-            @PathVariable Long articleId) {
-        ArticleDTO articleDTO = articleService.getArticleById(articleId);
-        return ResponseEntity.ok(articleDTO);
+            @PathVariable Long articleId,
+            @Parameter(description = "Comma-separated article fields to return, all of them by default")
+            @RequestParam(required = false) String fields,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        Set<ArticleField> selected = ArticleField.parse(fields);
+        MediaType binaryFormat = binaryFormat(webRequest);
+
+        // The full article is cached and carries its own version, so a cache hit
+        // costs no query, not even for a 304
+        if (selected.equals(ArticleField.ALL)) {
+            ArticleDTO articleDTO = articleService.getArticleById(articleId);
+            ResourceVersion version = representation(articleService.getArticleVersion(articleDTO),
+                    selected, binaryFormat);
+            if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+                return null;  // 304 Not Modified, headers already set
+            }
+            return withValidators(ResponseEntity.ok(), version).body(articleDTO);
+        }
+
+        // Selections are not cached: validators first, and cheaply
+        ResourceVersion version = representation(articleService.getArticleVersion(articleId),
+                selected, binaryFormat);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;  // 304 Not Modified, headers already set
+        }
+        ArticleDTO articleDTO = articleService.getArticleById(articleId, selected);
+        return withValidators(ResponseEntity.ok(), version).body(withFields(articleDTO, selected));
     }
 
     // ==================== UPDATE ARTICLE
@@ -283,6 +570,119 @@ public class ArticleController {
     }
 
 
+    // The snapshot bytes as they are; our own gzip copy has its own strong ETag, the
+    // plain JSON a weak one so that Tomcat may still compress it (blog.article-snapshots.gzip=false)
+    private static ResponseEntity<byte[]> firstPage(ArticlePageSnapshots.Snapshot snapshot, String acceptEncoding,
+                                                    WebRequest webRequest) {
+        boolean gzip = snapshot.gzip() != null && acceptsGzip(acceptEncoding);
+        ResourceVersion version = gzip
+                ? new ResourceVersion(snapshot.version().eTag() + "-gzip", snapshot.version().lastModified())
+                : weak(snapshot.version());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;  // 304 Not Modified, headers already set
+        }
+
+        ResponseEntity.BodyBuilder builder = withValidators(ResponseEntity.ok(), version)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return builder.body(snapshot.json());
+    }
+
+    // Whether Accept-Encoding allows gzip: named (or as x-gzip) with q > 0, or else through * with q > 0.
+    // So "gzip;q=0" and "*, gzip;q=0" refuse it; a malformed q counts as 0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException ex) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
+
+    // The binary encoding content negotiation will pick for this request, null for JSON
+    private MediaType binaryFormat(NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        // Most preferred first; */* and application/* are JSON's
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            for (MediaType format : BINARY_FORMATS) {
+                if (accepted.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    // A field selection or a binary encoding is a representation of its own, with its own ETag
+    private static ResourceVersion representation(ResourceVersion version, Set<ArticleField> fields,
+                                                  MediaType binaryFormat) {
+        StringBuilder eTag = new StringBuilder(version.eTag());
+        if (!fields.equals(ArticleField.ALL)) {
+            int mask = 0;
+            for (ArticleField field : fields) {
+                mask |= 1 << field.ordinal();
+            }
+            eTag.append("-f").append(Integer.toHexString(mask));
+        }
+        if (binaryFormat != null) {
+            eTag.append('-').append(binaryFormat.getSubtype());
+        }
+        return weak(new ResourceVersion(eTag.toString(), version.lastModified()));
+    }
+
+    // Tomcat only compresses responses without a strong ETag (server.compression). Its
+    // gzip and the identity body are the same representation, so a weak ETag fits both
+    private static ResourceVersion weak(ResourceVersion version) {
+        return new ResourceVersion("W/\"" + version.eTag() + "\"", version.lastModified());
+    }
+
+    // Serializes only the selected ArticleDTO properties, see JacksonConfig
+    private static Object withFields(Object body, Set<ArticleField> fields) {
+        if (fields.equals(ArticleField.ALL)) {
+            return body;
+        }
+        Set<String> names = fields.stream().map(ArticleField::jsonName).collect(Collectors.toSet());
+        MappingJacksonValue filtered = new MappingJacksonValue(body);
+        filtered.setFilters(new SimpleFilterProvider()
+                .addFilter(ArticleField.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return filtered;
+    }
+
+    // Vary: Accept as the ETag depends on the negotiated encoding
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder,
+                                                             ResourceVersion version) {
+        builder.eTag(version.eTag()).varyBy(HttpHeaders.ACCEPT);
+        if (version.lastModified() >= 0) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+
     // ✅ Handle validation errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<MyErrorResponses> handleValidationException(MethodArgumentNotValidException ex) {
@@ -325,6 +725,26 @@ public class ArticleController {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    // Database bulkhead full: ask the client to come back shortly
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<MyErrorResponses> handleServiceBusyException(ServiceBusyException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("SERVICE_UNAVAILABLE", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    // Client over its rate limit (RateLimitInterceptor)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<MyErrorResponses> handleTooManyRequestsException(TooManyRequestsException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("TOO_MANY_REQUESTS", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
 
 
 
@@ -1,10 +1,16 @@
 package com.belvinard.blog_api.controllers;
 
 import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.exceptions.APIException;
 import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.exceptions.ServiceBusyException;
+import com.belvinard.blog_api.exceptions.TooManyRequestsException;
+import com.belvinard.blog_api.ingestion.CommentWriteBehindQueue;
+import com.belvinard.blog_api.responses.CommentResponse;
 import com.belvinard.blog_api.responses.MyErrorResponses;
 import com.belvinard.blog_api.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,6 +18,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -22,13 +31,18 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")  // ReactiveCommentController serves these paths in the reactive profile
 @RequestMapping("/api/articles")
 @Tag(name = "Add Comments", description = "Endpoints for adding comments to a specific article, enabling user interaction and feedback.")
 public class CommentController {
     private final CommentService commentService;
+    // Only present in write-behind mode (blog.comments.write-behind.enabled)
+    private final CommentWriteBehindQueue writeBehindQueue;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService,
+                             ObjectProvider<CommentWriteBehindQueue> writeBehindQueue) {
         this.commentService = commentService;
+        this.writeBehindQueue = writeBehindQueue.getIfAvailable();
     }
 
     @Operation(
@@ -38,6 +52,9 @@ public class CommentController {
         If the article exists, the comment will be added successfully.
         If the article ID does not exist, an error is returned.
         If the input is invalid, an error response is returned.
+        In write-behind mode the comment is queued and saved shortly after:
+        the response is 202 without createdAt, an unknown article is still
+        a 404, and a full queue answers 429.
     """
     )
     @ApiResponses(value = {
@@ -82,6 +99,22 @@ public class CommentController {
         }
         """)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Comment queued (write-behind mode)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CommentDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded or write-behind queue full, retry after the Retry-After delay",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MyErrorResponses.class)
+                    )
             )
     })
     @PostMapping("/{articleId}/comments")
@@ -89,10 +122,73 @@ public class CommentController {
             @PathVariable Long articleId,
             @Valid @RequestBody CommentDTO commentDTO) {
 
+        if (writeBehindQueue != null) {
+            writeBehindQueue.submit(articleId, commentDTO.getText());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new CommentDTO(commentDTO.getText(), null));
+        }
+
         CommentDTO createdComment = commentService.addComment(articleId, commentDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdComment);
     }
 
+    @Operation(
+            summary = "List the comments of an article",
+            description = """
+        Returns one page of comments for the specified article, newest first.
+        Pass the returned nextCursor as cursor to fetch the following page.
+        If the article ID does not exist, an error is returned.
+        Send Accept: application/cbor or application/x-jackson-smile for a binary encoding.
+    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Comments successfully retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CommentResponse.class),
+                            examples = @ExampleObject(value = """
+        {
+            "content": [
+                {
+                    "text": "Great article! Very informative.",
+                    "createdAt": "2025-04-03T16:29:59.650286"
+                }
+            ],
+            "nextCursor": "MjAyNS0wNC0wM1QxNjoyOTo1OS42NTAyODZ8Mw",
+            "hasMore": true
+        }
+        """)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Article not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MyErrorResponses.class),
+                            examples = @ExampleObject(value = """
+        {
+            "code": "NOT_FOUND",
+            "message": "No article found with ID 10"
+        }
+        """)
+                    )
+            )
+    })
+    @GetMapping("/{articleId}/comments")
+    public ResponseEntity<CommentResponse> getCommentsByArticle(
+            @Parameter(description = "ID of the article whose comments are listed", required = true)
+            @PathVariable Long articleId,
+            @Parameter(description = "Number of comments per page (1-100)")
+            @RequestParam(defaultValue = "20") int pageSize,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor) {
+
+        CommentResponse comments = commentService.getCommentsByArticle(articleId, pageSize, cursor);
+        return ResponseEntity.ok(comments);
+    }
+
     @Operation(hidden = true)
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<MyErrorResponses> handleResourceNotFoundException(ResourceNotFoundException ex) {
@@ -117,4 +213,31 @@ public class CommentController {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(APIException.class)
+    public ResponseEntity<MyErrorResponses> myAPIException(APIException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("BAD_REQUEST", ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Database bulkhead full: ask the client to come back shortly
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<MyErrorResponses> handleServiceBusyException(ServiceBusyException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("SERVICE_UNAVAILABLE", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    // Client over its rate limit, or write-behind queue full
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<MyErrorResponses> handleTooManyRequestsException(TooManyRequestsException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("TOO_MANY_REQUESTS", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
 }
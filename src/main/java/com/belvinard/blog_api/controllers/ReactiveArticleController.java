@@ -0,0 +1,162 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.exceptions.APIException;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.exceptions.ServiceBusyException;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.responses.ArticleSearchResponse;
+import com.belvinard.blog_api.responses.BulkArticleResponse;
+import com.belvinard.blog_api.responses.MyErrorResponses;
+import com.belvinard.blog_api.service.ArticleService;
+import com.belvinard.blog_api.service.ReactiveArticleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link ArticleController} for the reactive profile:
+ * same paths, bodies and status codes, served without blocking a thread per
+ * request. Search and bulk creation still go through the blocking JPA
+ * service, on the bounded elastic scheduler so the event loop stays free.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/articles")
+@Tag(name = "Article Management", description = "Endpoints for managing blog articles")
+public class ReactiveArticleController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ReactiveArticleService articleService;
+    private final ArticleService blockingArticleService;
+
+    public ReactiveArticleController(ReactiveArticleService articleService,
+                                     ArticleService blockingArticleService) {
+        this.articleService = articleService;
+        this.blockingArticleService = blockingArticleService;
+    }
+
+    @Operation(summary = "Get all articles", description = "Returns one page of articles, newest first.")
+    @GetMapping
+    public Mono<ArticleResponse> getAllArticles(
+            @Parameter(description = "Number of articles per page (1-100)")
+            @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor) {
+        return articleService.getAllArticles(pageSize, cursor);
+    }
+
+    @Operation(summary = "Search articles", description = "Ranked full-text search over article titles and contents.")
+    @GetMapping("/search")
+    public Mono<ArticleSearchResponse> searchArticles(
+            @Parameter(description = "Search terms", required = true)
+            @RequestParam("q") String query,
+            @Parameter(description = "Number of results per page (1-100)")
+            @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor) {
+        return Mono.fromCallable(() -> blockingArticleService.searchArticles(query, pageSize, cursor))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Rows are written as the client reads them: a slow reader slows the query down
+    @Operation(summary = "Export all articles", description = "Streams every article with all of its comments, one JSON document per line.")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public Flux<ArticleDTO> exportArticles() {
+        return articleService.exportArticles();
+    }
+
+    @Operation(summary = "Create a new article", description = "Adds a new article to the blog.")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ArticleDTO> createArticle(@RequestBody @Valid ArticleDTO articleDTO) {
+        return articleService.createArticle(articleDTO);
+    }
+
+    @Operation(summary = "Create articles in bulk", description = "Creates up to 5000 articles in a single request.")
+    @PostMapping("/bulk")
+    public Mono<BulkArticleResponse> createArticles(@RequestBody List<ArticleDTO> articleDTOs) {
+        return Mono.fromCallable(() -> blockingArticleService.createArticles(articleDTOs))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Get article by ID", description = "Retrieves a single article based on the provided ID.")
+    @GetMapping("/{articleId}")
+    public Mono<ArticleDTO> getArticleById(
+            @Parameter(description = "ID of the article to be retrieved", required = true)
+            @PathVariable Long articleId) {
+        return articleService.getArticleById(articleId);
+    }
+
+    @Operation(summary = "Update an article", description = "Updates an existing article")
+    @PatchMapping("/{articleId}")
+    public Mono<ArticleDTO> patchArticle(@PathVariable Long articleId,
+                                         @Valid @RequestBody ArticleDTO articleDTO) {
+        return articleService.patchArticle(articleId, articleDTO);
+    }
+
+    @Operation(summary = "Delete an article", description = "Deletes a blog article by its ID.")
+    @DeleteMapping("/{articleId}")
+    public Mono<ArticleDTO> deleteArticle(
+            @Parameter(description = "ID of the article to be deleted", required = true)
+            @PathVariable Long articleId) {
+        return articleService.deleteArticle(articleId);
+    }
+
+    // Handle validation errors
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<MyErrorResponses> handleValidationException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());  // Collect field errors
+        }
+
+        MyErrorResponses errorResponse = new MyErrorResponses(
+                "BAD_REQUEST",
+                "Validation failed. Please correct the errors.",
+                errors
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @Operation(hidden = true)
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<MyErrorResponses> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("NOT_FOUND", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(APIException.class)
+    public ResponseEntity<MyErrorResponses> myAPIException(APIException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("BAD_REQUEST", ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Database bulkhead full (blocking search and bulk calls): ask the client to come back shortly
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<MyErrorResponses> handleServiceBusyException(ServiceBusyException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("SERVICE_UNAVAILABLE", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+}
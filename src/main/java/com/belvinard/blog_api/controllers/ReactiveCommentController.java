@@ -0,0 +1,86 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.exceptions.APIException;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.responses.CommentResponse;
+import com.belvinard.blog_api.responses.MyErrorResponses;
+import com.belvinard.blog_api.service.ReactiveCommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// WebFlux counterpart of CommentController for the reactive profile
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/articles")
+@Tag(name = "Add Comments", description = "Endpoints for adding comments to a specific article, enabling user interaction and feedback.")
+public class ReactiveCommentController {
+    private final ReactiveCommentService commentService;
+
+    public ReactiveCommentController(ReactiveCommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @Operation(summary = "Add a comment to an article", description = "Adds a comment to a specified article.")
+    @PostMapping("/{articleId}/comments")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CommentDTO> addComment(@PathVariable Long articleId,
+                                       @Valid @RequestBody CommentDTO commentDTO) {
+        return commentService.addComment(articleId, commentDTO);
+    }
+
+    @Operation(summary = "List the comments of an article", description = "Returns one page of comments for the specified article, newest first.")
+    @GetMapping("/{articleId}/comments")
+    public Mono<CommentResponse> getCommentsByArticle(
+            @Parameter(description = "ID of the article whose comments are listed", required = true)
+            @PathVariable Long articleId,
+            @Parameter(description = "Number of comments per page (1-100)")
+            @RequestParam(defaultValue = "20") int pageSize,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor) {
+        return commentService.getCommentsByArticle(articleId, pageSize, cursor);
+    }
+
+    @Operation(hidden = true)
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<MyErrorResponses> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("NOT_FOUND", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    // Handle validation errors
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<MyErrorResponses> handleValidationException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());  // Collect field errors
+        }
+
+        MyErrorResponses errorResponse = new MyErrorResponses(
+                "BAD_REQUEST",
+                "Validation failed. Please correct the errors.",
+                errors
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(APIException.class)
+    public ResponseEntity<MyErrorResponses> myAPIException(APIException ex) {
+        MyErrorResponses errorResponse = new MyErrorResponses("BAD_REQUEST", ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,90 @@
+package com.belvinard.blog_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the read replicas when some are
+ * configured (blog.datasource.replicas[N].url/username/password).
+ * <p>
+ * The application DataSource is wrapped in a LazyConnectionDataSourceProxy:
+ * the physical connection is only fetched at the first statement, after the
+ * transaction manager has marked it read-only, and read-only connections
+ * come from the replicas. Everything else, including connections used
+ * outside transactions, stays on the primary. Reads right after a write may
+ * not see it on a replica yet, within the configured max lag.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.datasource.replicas[0].url")
+public class ReadReplicaDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, DisposableBean,
+        Ordered {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private Binder binder;
+    private ReplicaRoutingDataSource replicas;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.binder = Binder.get(environment);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource primary)) {
+            return bean;
+        }
+
+        ReadReplicaProperties properties = binder.bind("blog.datasource", ReadReplicaProperties.class)
+                .orElseGet(ReadReplicaProperties::new);
+        List<DataSource> replicaPools = new ArrayList<>();
+        for (ReadReplicaProperties.Replica replica : properties.getReplicas()) {
+            replicaPools.add(createPool(replica, replicaPools.size()));
+        }
+        replicas = new ReplicaRoutingDataSource(primary, replicaPools, properties.getReplicaSelection(),
+                properties.getReplicaMaxLag(), properties.getReplicaLagQuery());
+        replicas.startLagChecks(properties.getReplicaLagCheckInterval());
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+
+    // Same pool settings as the primary, own URL and credentials
+    private HikariDataSource createPool(ReadReplicaProperties.Replica replica, int index) {
+        HikariDataSource pool = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("replica-" + index);
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(replica.getUsername());
+        pool.setPassword(replica.getPassword());
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    // Before unordered wrappers of the DataSource (statement counting), which then see replica reads too
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public void destroy() {
+        if (replicas != null) {
+            replicas.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.belvinard.blog_api.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the primary datasource (blog.datasource.*). Pool
+ * settings are shared with the primary (spring.datasource.hikari.*).
+ */
+public class ReadReplicaProperties {
+
+    // Replication delay of a PostgreSQL standby; 0 when it has replayed everything it received
+    static final String POSTGRES_LAG_QUERY = """
+            select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else extract(epoch from now() - pg_last_xact_replay_timestamp()) end""";
+
+    private List<Replica> replicas = new ArrayList<>();
+    private ReplicaRoutingDataSource.Selection replicaSelection = ReplicaRoutingDataSource.Selection.ROUND_ROBIN;
+    // Replicas further behind than this are skipped until they catch up
+    private Duration replicaMaxLag = Duration.ofSeconds(5);
+    private Duration replicaLagCheckInterval = Duration.ofSeconds(2);
+    // Returns the lag in seconds; null counts as no lag
+    private String replicaLagQuery = POSTGRES_LAG_QUERY;
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public ReplicaRoutingDataSource.Selection getReplicaSelection() {
+        return replicaSelection;
+    }
+
+    public void setReplicaSelection(ReplicaRoutingDataSource.Selection replicaSelection) {
+        this.replicaSelection = replicaSelection;
+    }
+
+    public Duration getReplicaMaxLag() {
+        return replicaMaxLag;
+    }
+
+    public void setReplicaMaxLag(Duration replicaMaxLag) {
+        this.replicaMaxLag = replicaMaxLag;
+    }
+
+    public Duration getReplicaLagCheckInterval() {
+        return replicaLagCheckInterval;
+    }
+
+    public void setReplicaLagCheckInterval(Duration replicaLagCheckInterval) {
+        this.replicaLagCheckInterval = replicaLagCheckInterval;
+    }
+
+    public String getReplicaLagQuery() {
+        return replicaLagQuery;
+    }
+
+    public void setReplicaLagQuery(String replicaLagQuery) {
+        this.replicaLagQuery = replicaLagQuery;
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
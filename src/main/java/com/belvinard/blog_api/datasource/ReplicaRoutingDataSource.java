@@ -0,0 +1,156 @@
+package com.belvinard.blog_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections of one of the read replicas, for read-only
+ * transactions. Replicas that fail the lag probe or lag more than max-lag
+ * are skipped; with none left, connections come from the primary, which is
+ * always up to date.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum Selection { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Selection selection;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    // Replaced as a whole by every lag check, read without locking
+    private volatile List<DataSource> healthy;
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Selection selection,
+                                    Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        this.healthy = this.replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    DataSource select() {
+        List<DataSource> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return primary;
+        }
+        if (selection == Selection.LEAST_CONNECTIONS) {
+            DataSource least = null;
+            int leastActive = Integer.MAX_VALUE;
+            // Start at a rotating offset so ties are spread instead of all going to the first replica
+            int offset = Math.floorMod(next.getAndIncrement(), candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                DataSource candidate = candidates.get((offset + i) % candidates.size());
+                int active = activeConnections(candidate);
+                if (active < leastActive) {
+                    least = candidate;
+                    leastActive = active;
+                }
+            }
+            return least;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Probes every replica and keeps the ones that answer within max-lag.
+     * Runs periodically once {@link #startLagChecks} has been called.
+     */
+    public void checkReplicaLag() {
+        List<DataSource> upToDate = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSource replica = replicas.get(i);
+            try {
+                double lag = lagSeconds(replica);
+                if (lag <= maxLagSeconds) {
+                    upToDate.add(replica);
+                } else if (healthy.contains(replica)) {
+                    log.warn("Read replica {} lags {} s behind the primary, skipping it", i, lag);
+                }
+            } catch (SQLException ex) {
+                if (healthy.contains(replica)) {
+                    log.warn("Read replica {} failed its lag check, skipping it: {}", i, ex.getMessage());
+                }
+            }
+        }
+        if (upToDate.isEmpty() && !healthy.isEmpty()) {
+            log.warn("No read replica is up to date, read-only transactions use the primary");
+        }
+        healthy = List.copyOf(upToDate);
+    }
+
+    public void startLagChecks(Duration interval) {
+        checkReplicaLag();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkReplicaLag,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close read replica pool", ex);
+                }
+            }
+        }
+    }
+
+    private double lagSeconds(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getDouble(1) : 0;  // getDouble maps SQL null to 0
+        }
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();  // null until the pool has started
+        }
+        return 0;
+    }
+}
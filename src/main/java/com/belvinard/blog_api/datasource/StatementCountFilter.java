@@ -0,0 +1,71 @@
+package com.belvinard.blog_api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+
+/**
+ * Reports the number of SQL statements a request ran in the
+ * X-Statement-Count header. Counting starts with the request; the header is
+ * set just before a body is written or, for responses without one, once the
+ * handler has returned. Streamed responses (export) carry no header.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.statement-count.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Statement-Count";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Counts are per thread, and request threads are reused
+        QueryCountHolder.clear();
+        chain.doFilter(request, response);
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, String.valueOf(statementCount()));
+        }
+    }
+
+    static long statementCount() {
+        QueryCount count = QueryCountHolder.get(StatementCountingDataSourcePostProcessor.DATA_SOURCE_NAME);
+        return count == null ? 0 : count.getTotal();
+    }
+
+    // Bodies commit the response as they are written, before the filter gets control back
+    @ControllerAdvice
+    @ConditionalOnProperty(name = "blog.statement-count.enabled", havingValue = "true")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class HeaderAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            response.getHeaders().set(HEADER, String.valueOf(statementCount()));
+            return body;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.belvinard.blog_api.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the JDBC statements each thread runs (blog.statement-count.enabled,
+ * meant for dev and tests): the application DataSource is wrapped in a
+ * datasource-proxy that feeds QueryCountHolder. A batch counts as one
+ * statement, as it is one round trip. {@link StatementCountFilter} turns the
+ * counts into a response header.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.statement-count.enabled", havingValue = "true")
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE_NAME = "blog";
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Runs after the ordered ReadReplicaDataSourcePostProcessor, so replica reads are counted too
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(DATA_SOURCE_NAME, dataSource)
+                .countQuery()
+                .build();
+    }
+}
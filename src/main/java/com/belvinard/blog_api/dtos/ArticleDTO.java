@@ -33,6 +33,9 @@ public class ArticleDTO {
     @Schema(hidden = true)
     private List<CommentDTO> comments;
 
+    @Schema(hidden = true) // Total number of comments, even when only a preview is embedded
+    private Long commentCount;
+
     public ArticleDTO() {
     }
 
@@ -58,6 +61,14 @@ public class ArticleDTO {
         this.comments = comments;
     }
 
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Long commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public LocalDateTime getPublicationDate() {
         return publicationDate;
     }
@@ -0,0 +1,58 @@
+package com.belvinard.blog_api.dtos;
+
+import com.belvinard.blog_api.exceptions.APIException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The ArticleDTO properties a client can select with ?fields=, by JSON name.
+ */
+public enum ArticleField {
+    ARTICLE_ID("articleId"),
+    TITLE("title"),
+    CONTENT("content"),
+    PUBLICATION_DATE("publicationDate"),
+    LAST_UPDATED("lastUpdated"),
+    COMMENTS("comments"),
+    COMMENT_COUNT("commentCount");
+
+    // Id of the Jackson filter put on ArticleDTO, see JacksonConfig
+    public static final String FILTER = "articleFields";
+
+    public static final Set<ArticleField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ArticleField.class));
+
+    private final String jsonName;
+
+    ArticleField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    // Comma-separated JSON names; no value selects every field
+    public static Set<ArticleField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<ArticleField> selected = EnumSet.noneOf(ArticleField.class);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            ArticleField field = Arrays.stream(values())
+                    .filter(candidate -> candidate.jsonName.equals(name.strip()))
+                    .findFirst()
+                    .orElseThrow(() -> new APIException("Unknown field " + name.strip() + ", expected some of "
+                            + Arrays.stream(values()).map(ArticleField::jsonName).collect(Collectors.joining(","))));
+            selected.add(field);
+        }
+        return selected.isEmpty() ? ALL : selected;
+    }
+}
@@ -0,0 +1,74 @@
+package com.belvinard.blog_api.dtos;
+
+import java.time.LocalDateTime;
+
+public class ArticleSearchHitDTO {
+    private Long articleId;
+    private String title;
+    private LocalDateTime publicationDate;
+    private double rank;
+    // Excerpts with the matched terms wrapped in <b></b>
+    private String titleHighlight;
+    private String contentHighlight;
+
+    public ArticleSearchHitDTO() {
+    }
+
+    public ArticleSearchHitDTO(Long articleId, String title, LocalDateTime publicationDate, double rank,
+                               String titleHighlight, String contentHighlight) {
+        this.articleId = articleId;
+        this.title = title;
+        this.publicationDate = publicationDate;
+        this.rank = rank;
+        this.titleHighlight = titleHighlight;
+        this.contentHighlight = contentHighlight;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getPublicationDate() {
+        return publicationDate;
+    }
+
+    public void setPublicationDate(LocalDateTime publicationDate) {
+        this.publicationDate = publicationDate;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public void setRank(double rank) {
+        this.rank = rank;
+    }
+
+    public String getTitleHighlight() {
+        return titleHighlight;
+    }
+
+    public void setTitleHighlight(String titleHighlight) {
+        this.titleHighlight = titleHighlight;
+    }
+
+    public String getContentHighlight() {
+        return contentHighlight;
+    }
+
+    public void setContentHighlight(String contentHighlight) {
+        this.contentHighlight = contentHighlight;
+    }
+}
@@ -0,0 +1,9 @@
+package com.belvinard.blog_api.dtos;
+
+/**
+ * Validators of a GET response: an ETag and its Last-Modified time in epoch
+ * milliseconds. The ETag is strong, as an unquoted opaque tag, unless given
+ * in the weak W/"..." form.
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+}
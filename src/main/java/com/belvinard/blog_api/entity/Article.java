@@ -8,7 +8,9 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,10 +21,18 @@ import java.util.List;
 @Getter
 @Setter
 @AllArgsConstructor
-@Table(name = "articles")  // Optional (if you want to explicitly name the table)
+@DynamicUpdate  // UPDATE only the columns a patch actually changed
+@Table(name = "articles",  // Optional (if you want to explicitly name the table)
+        indexes = @Index(columnList = "publication_date, article_id"),
+        uniqueConstraints = @UniqueConstraint(name = Article.TITLE_UNIQUE_CONSTRAINT, columnNames = "title"))
 public class Article {
+    public static final String TITLE_UNIQUE_CONSTRAINT = "uk_articles_title";
+
+    // Pooled sequence rather than IDENTITY: bulk creation (createArticles) inserts in JDBC batches.
+    // Existing databases are moved past their highest id at startup (schema-postgresql.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_seq")
+    @SequenceGenerator(name = "articles_seq", sequenceName = "articles_seq", allocationSize = 50)
     private Long articleId;
 
     @Setter
@@ -44,6 +54,12 @@ public class Article {
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
+    // Denormalized count of the comments, maintained by single UPDATEs on comment
+    // writes (see ArticleRepository#adjustCommentCount), never by dirty checking
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount;
+
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore  // Prevents infinite recursion in JSON responses
     private List<Comment> comments = new ArrayList<>();
@@ -13,10 +13,12 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "comments", indexes = @Index(columnList = "article_id"))
+@Table(name = "comments", indexes = @Index(columnList = "article_id, created_at"))
 public class Comment {
+    // Generated like Article's id, so write-behind batches go out as batched INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long commentId;
 
     @NotBlank(message = "Comment text cannot be blank")
@@ -0,0 +1,28 @@
+package com.belvinard.blog_api.events;
+
+import com.belvinard.blog_api.entity.Article;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the article service whenever an article is created, changed or
+ * deleted. Carries a detached copy of the searchable fields so listeners never
+ * touch the entity (or the database) after the transaction.
+ */
+public record ArticleChangedEvent(Type type, Long articleId, String title, String content,
+                                  LocalDateTime publicationDate) {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    public static ArticleChangedEvent saved(Article article) {
+        return new ArticleChangedEvent(Type.SAVED, article.getArticleId(), article.getTitle(),
+                article.getContent(), article.getPublicationDate());
+    }
+
+    public static ArticleChangedEvent deleted(Long articleId) {
+        return new ArticleChangedEvent(Type.DELETED, articleId, null, null, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.belvinard.blog_api.events;
+
+/**
+ * Published when comments are added to an article, by the synchronous
+ * comment service and by the write-behind batch writer.
+ */
+public record CommentsAddedEvent(Long articleId, int count) {
+}
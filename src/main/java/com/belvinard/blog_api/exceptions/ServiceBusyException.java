@@ -0,0 +1,10 @@
+package com.belvinard.blog_api.exceptions;
+
+// The database bulkhead stayed full for longer than the caller may wait
+public class ServiceBusyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
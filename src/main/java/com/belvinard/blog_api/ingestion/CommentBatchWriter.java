@@ -0,0 +1,85 @@
+package com.belvinard.blog_api.ingestion;
+
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.events.CommentsAddedEvent;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.repositories.CommentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Persists one batch of queued comments in a single transaction: one
+ * comment_count UPDATE per article, then the comments as JDBC-batched
+ * INSERTs. Articles are attached by reference and never loaded.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.write-behind.enabled", havingValue = "true")
+public class CommentBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentBatchWriter.class);
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CommentBatchWriter(ArticleRepository articleRepository, CommentRepository commentRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.articleRepository = articleRepository;
+        this.commentRepository = commentRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Read-write, so it runs on the primary: a lagging replica may not have an article created just now
+    @Transactional
+    public boolean articleExists(Long articleId) {
+        return articleRepository.existsById(articleId);
+    }
+
+    /**
+     * @return the ids of the articles that received comments
+     */
+    @Transactional
+    public Set<Long> write(List<PendingComment> batch) {
+        // Sorted, so concurrent writers lock article rows in the same order
+        Map<Long, List<PendingComment>> byArticle = new TreeMap<>();
+        for (PendingComment pending : batch) {
+            byArticle.computeIfAbsent(pending.articleId(), id -> new ArrayList<>()).add(pending);
+        }
+
+        Set<Long> written = new TreeSet<>();
+        List<Comment> comments = new ArrayList<>(batch.size());
+        byArticle.forEach((articleId, pending) -> {
+            // The counter UPDATE doubles as the existence check, and its row lock
+            // keeps the article from being deleted before the INSERTs run
+            if (articleRepository.adjustCommentCount(articleId, pending.size()) == 0) {
+                log.warn("Dropped {} queued comments of article {}, which no longer exists",
+                        pending.size(), articleId);
+                return;
+            }
+            Article article = articleRepository.getReferenceById(articleId);
+            for (PendingComment comment : pending) {
+                Comment entity = new Comment();
+                entity.setText(comment.text());
+                entity.setArticle(article);
+                comments.add(entity);
+            }
+            written.add(articleId);
+            eventPublisher.publishEvent(new CommentsAddedEvent(articleId, pending.size()));
+        });
+
+        commentRepository.saveAll(comments);
+        return written;
+    }
+}
@@ -0,0 +1,203 @@
+package com.belvinard.blog_api.ingestion;
+
+import com.belvinard.blog_api.config.CacheConfig;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.exceptions.ServiceBusyException;
+import com.belvinard.blog_api.exceptions.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion of comments (blog.comments.write-behind.enabled).
+ * Requests only validate and enqueue; a single drainer thread takes
+ * whatever has accumulated, up to batch-size, and hands it to the
+ * {@link CommentBatchWriter}, so the busier the article the larger the
+ * batches. A full queue is rejected with a 429 instead of growing.
+ * <p>
+ * Comments on unknown articles are rejected before they are queued, like in
+ * the synchronous path; comments on articles deleted after that are dropped
+ * at write time. Stops after the web server on shutdown and flushes the
+ * queue first.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.write-behind.enabled", havingValue = "true")
+public class CommentWriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBehindQueue.class);
+
+    // Below the web server's start/stop phases: starts before it, stops after it
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long POLL_MILLIS = 100;
+    private static final long RETRY_MILLIS = 100;
+    private static final int MAX_KNOWN_ARTICLES = 10_000;
+
+    private final BlockingQueue<PendingComment> queue;
+    private final CommentBatchWriter writer;
+    private final Cache articlesCache;
+    private final int batchSize;
+    // Articles seen to exist, so a comment storm checks its article once.
+    // Forgotten when the writer finds them deleted
+    private final Set<Long> knownArticles = ConcurrentHashMap.newKeySet();
+    private final Object progress = new Object();
+    // Guarded by progress
+    private long submitted;
+    private long processed;
+    private volatile boolean running;
+    private Thread drainer;
+
+    public CommentWriteBehindQueue(CommentBatchWriter writer,
+                                   CacheManager cacheManager,
+                                   @Value("${blog.comments.write-behind.capacity:10000}") int capacity,
+                                   @Value("${blog.comments.write-behind.batch-size:500}") int batchSize) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = writer;
+        this.articlesCache = cacheManager.getCache(CacheConfig.ARTICLES_CACHE);
+        this.batchSize = batchSize;
+    }
+
+    public void submit(Long articleId, String text) {
+        if (!running) {
+            throw new ServiceBusyException("Comment ingestion is not running, please retry later");
+        }
+        if (!knownArticles.contains(articleId)) {
+            if (!writer.articleExists(articleId)) {
+                throw new ResourceNotFoundException("Article", "article_id", articleId);
+            }
+            if (knownArticles.size() >= MAX_KNOWN_ARTICLES) {
+                knownArticles.clear();
+            }
+            knownArticles.add(articleId);
+        }
+        synchronized (progress) {
+            if (!queue.offer(new PendingComment(articleId, text))) {
+                throw new TooManyRequestsException("Too many comments are waiting to be saved, please retry later");
+            }
+            submitted++;
+        }
+    }
+
+    /**
+     * Waits until every comment submitted before the call has been written
+     * (or dropped). Returns false if that takes longer than the timeout.
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            long target = submitted;
+            while (processed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drain, "comment-write-behind");
+        drainer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            drainer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Shut down with {} comments still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+        // Keeps going after stop() until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingComment first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingComment> batch) throws InterruptedException {
+        try {
+            while (true) {
+                try {
+                    Set<Long> articleIds = writer.write(batch);
+                    for (PendingComment comment : batch) {
+                        if (!articleIds.contains(comment.articleId())) {
+                            knownArticles.remove(comment.articleId());
+                        }
+                    }
+                    // After the commit, so no reader caches the article without its new comments
+                    if (articlesCache != null) {
+                        articleIds.forEach(articlesCache::evict);
+                    }
+                    return;
+                } catch (ServiceBusyException ex) {
+                    // Bulkhead full: wait like any request would, but give up once shutting down
+                    if (!running) {
+                        log.error("Dropped {} queued comments, the database stayed busy during shutdown",
+                                batch.size());
+                        return;
+                    }
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (RuntimeException ex) {
+                    log.error("Dropped {} queued comments that could not be saved", batch.size(), ex);
+                    return;
+                }
+            }
+        } finally {
+            synchronized (progress) {
+                processed += batch.size();
+                progress.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.belvinard.blog_api.ingestion;
+
+// A validated comment waiting in the write-behind queue
+public record PendingComment(Long articleId, String text) {
+}
@@ -0,0 +1,56 @@
+package com.belvinard.blog_api.mappers;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.projections.ArticleSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Plain-Java Article <-> ArticleDTO conversions, replacing the reflective
+ * ModelMapper type maps that used to live in AppConfig.
+ */
+@Component
+public class ArticleMapper {
+
+    private final CommentMapper commentMapper;
+
+    public ArticleMapper(CommentMapper commentMapper) {
+        this.commentMapper = commentMapper;
+    }
+
+    // Full view: initialises and maps every comment of the article
+    public ArticleDTO toDto(Article article) {
+        List<CommentDTO> comments = commentMapper.toDtos(article.getComments());
+        ArticleDTO articleDTO = toDto(article, comments);
+        articleDTO.setCommentCount((long) comments.size());
+        return articleDTO;
+    }
+
+    // Uses the given comments and never touches the lazy comments collection;
+    // the count comes from the denormalized comment_count column
+    public ArticleDTO toDto(Article article, List<CommentDTO> comments) {
+        ArticleDTO articleDTO = new ArticleDTO(article.getArticleId(), article.getTitle(), article.getContent(),
+                article.getPublicationDate(), article.getLastUpdated(), comments);
+        articleDTO.setCommentCount(article.getCommentCount());
+        return articleDTO;
+    }
+
+    // Same, from a projection that left the content out
+    public ArticleDTO toDto(ArticleSummary summary, List<CommentDTO> comments) {
+        ArticleDTO articleDTO = new ArticleDTO(summary.articleId(), summary.title(), null,
+                summary.publicationDate(), summary.lastUpdated(), comments);
+        articleDTO.setCommentCount(summary.commentCount());
+        return articleDTO;
+    }
+
+    // Id and timestamps are owned by the database, only the editable fields are copied
+    public Article toEntity(ArticleDTO articleDTO) {
+        Article article = new Article();
+        article.setTitle(articleDTO.getTitle());
+        article.setContent(articleDTO.getContent());
+        return article;
+    }
+}
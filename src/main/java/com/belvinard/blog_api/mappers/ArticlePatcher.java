@@ -0,0 +1,35 @@
+package com.belvinard.blog_api.mappers;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.entity.Article;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Applies a partial update (PATCH) to a managed Article. Stateless, so the
+ * singleton is safe to share between requests.
+ */
+@Component
+public class ArticlePatcher {
+
+    /**
+     * Copies the non-null fields of the patch that differ from the entity.
+     * Untouched fields stay clean for Hibernate's dirty checking, which
+     * together with @DynamicUpdate keeps unchanged columns out of the UPDATE.
+     *
+     * @return true if at least one field changed
+     */
+    public boolean apply(ArticleDTO patch, Article article) {
+        boolean changed = false;
+        if (patch.getTitle() != null && !Objects.equals(patch.getTitle(), article.getTitle())) {
+            article.setTitle(patch.getTitle());
+            changed = true;
+        }
+        if (patch.getContent() != null && !Objects.equals(patch.getContent(), article.getContent())) {
+            article.setContent(patch.getContent());
+            changed = true;
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,32 @@
+package com.belvinard.blog_api.mappers;
+
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.projections.CommentPreview;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-Java Comment -> CommentDTO conversions (no reflection on the hot path).
+ */
+@Component
+public class CommentMapper {
+
+    public CommentDTO toDto(Comment comment) {
+        return new CommentDTO(comment.getText(), comment.getCreatedAt());
+    }
+
+    public CommentDTO toDto(CommentPreview preview) {
+        return new CommentDTO(preview.getText(), preview.getCreatedAt());
+    }
+
+    public List<CommentDTO> toDtos(List<Comment> comments) {
+        List<CommentDTO> commentDTOS = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            commentDTOS.add(toDto(comment));
+        }
+        return commentDTOS;
+    }
+}
@@ -0,0 +1,42 @@
+package com.belvinard.blog_api.pagination;
+
+import com.belvinard.blog_api.exceptions.APIException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in search results ordered by (rank DESC, id DESC).
+ * The rank round-trips exactly through Double.toString.
+ * <p>
+ * Ranks are not stable across writes. The in-memory engine's BM25F scores
+ * depend on collection statistics (document counts and average lengths), so
+ * any article created, changed or deleted after a cursor was issued can move
+ * every rank, and the next page may skip or repeat hits. With PostgreSQL only
+ * the changed articles' own ranks move.
+ */
+public record SearchCursor(double rank, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = Double.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new APIException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.belvinard.blog_api.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ranked full-text match, with title and content excerpts in which the
+ * matched terms are wrapped in &lt;b&gt; tags.
+ */
+public interface ArticleSearchHit {
+    Long getArticleId();
+
+    String getTitle();
+
+    LocalDateTime getPublicationDate();
+
+    Double getRank();
+
+    String getTitleHighlight();
+
+    String getContentHighlight();
+}
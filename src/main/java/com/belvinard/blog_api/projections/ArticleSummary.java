@@ -0,0 +1,10 @@
+package com.belvinard.blog_api.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * An article without its body: what list views asking for no content read.
+ */
+public record ArticleSummary(Long articleId, String title, LocalDateTime publicationDate,
+                             LocalDateTime lastUpdated, Long commentCount) {
+}
@@ -0,0 +1,11 @@
+package com.belvinard.blog_api.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything an article response depends on, without the article body:
+ * used to answer conditional GETs without loading the article.
+ */
+public record ArticleVersion(Long articleId, LocalDateTime lastUpdated,
+                             Long commentCount, LocalDateTime lastCommentAt) {
+}
@@ -0,0 +1,14 @@
+package com.belvinard.blog_api.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * One of the newest comments of an article.
+ */
+public interface CommentPreview {
+    Long getArticleId();
+
+    String getText();
+
+    LocalDateTime getCreatedAt();
+}
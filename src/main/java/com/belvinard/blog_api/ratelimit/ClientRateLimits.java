@@ -0,0 +1,80 @@
+package com.belvinard.blog_api.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-client budgets of the API: a read budget (GET, HEAD) and a write
+ * budget (everything else). Shared by the servlet stack
+ * ({@link RateLimitInterceptor}) and the reactive one ({@link RateLimitWebFilter}),
+ * which only differ in how they read the request and answer the 429.
+ * <p>
+ * Clients are told apart by IP address, or by api-key-header when set. Keys
+ * are not checked here, so only set it behind a gateway that does: anyone
+ * can send a fresh key with every request.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ClientRateLimits {
+
+    public static final String METRIC = "blog.rate-limit.rejected";
+
+    private final TokenBucketRateLimiter readLimiter;
+    private final TokenBucketRateLimiter writeLimiter;
+    private final String apiKeyHeader;
+    private final Counter readRejections;
+    private final Counter writeRejections;
+
+    public ClientRateLimits(@Value("${blog.rate-limit.read.permits-per-second:50}") double readRate,
+                            @Value("${blog.rate-limit.read.burst:100}") int readBurst,
+                            @Value("${blog.rate-limit.write.permits-per-second:5}") double writeRate,
+                            @Value("${blog.rate-limit.write.burst:20}") int writeBurst,
+                            @Value("${blog.rate-limit.api-key-header:}") String apiKeyHeader,
+                            MeterRegistry meterRegistry) {
+        this.readLimiter = new TokenBucketRateLimiter(readRate, readBurst);
+        this.writeLimiter = new TokenBucketRateLimiter(writeRate, writeBurst);
+        this.apiKeyHeader = apiKeyHeader.isBlank() ? null : apiKeyHeader;
+        this.readRejections = meterRegistry.counter(METRIC, "budget", "read");
+        this.writeRejections = meterRegistry.counter(METRIC, "budget", "write");
+    }
+
+    // Header naming the client's API key, null to tell clients apart by address only
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public String client(String apiKey, String remoteAddress) {
+        if (apiKeyHeader != null && apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+        return remoteAddress;
+    }
+
+    /**
+     * Takes one token from the client's read or write budget, by HTTP method.
+     *
+     * @return 0 when admitted, otherwise the seconds to send as Retry-After
+     */
+    public long admit(String method, String client) {
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+        long waitNanos = (read ? readLimiter : writeLimiter).tryAcquire(client);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        (read ? readRejections : writeRejections).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+    }
+
+    @Scheduled(fixedDelayString = "${blog.rate-limit.evict-interval:1m}")
+    public void evictIdleClients() {
+        readLimiter.evictIdle();
+        writeLimiter.evictIdle();
+    }
+}
@@ -0,0 +1,44 @@
+package com.belvinard.blog_api.ratelimit;
+
+import com.belvinard.blog_api.exceptions.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admission control for the MVC API, in front of the database bulkhead:
+ * requests beyond the client's {@link ClientRateLimits} budget get a 429 with
+ * Retry-After before any work is done. The rejection is thrown to the
+ * controller's TooManyRequestsException handler.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final ClientRateLimits limits;
+
+    public RateLimitInterceptor(ClientRateLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Controllers only: their exception handlers turn the rejection into a 429
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        String apiKey = limits.getApiKeyHeader() == null ? null : request.getHeader(limits.getApiKeyHeader());
+        long retryAfterSeconds = limits.admit(request.getMethod(), limits.client(apiKey, request.getRemoteAddr()));
+        if (retryAfterSeconds > 0) {
+            throw new TooManyRequestsException("Rate limit exceeded, retry in " + retryAfterSeconds + "s",
+                    retryAfterSeconds);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.belvinard.blog_api.ratelimit;
+
+import com.belvinard.blog_api.responses.MyErrorResponses;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * {@link RateLimitInterceptor} for the reactive profile: the same
+ * {@link ClientRateLimits} budgets on /api/**. Filters run outside the
+ * controllers' exception handlers, so the 429 is written here, in the same
+ * shape.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RateLimitWebFilter implements WebFilter {
+
+    private static final PathPattern API = PathPatternParser.defaultInstance.parse("/api/**");
+
+    private final ClientRateLimits limits;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitWebFilter(ClientRateLimits limits, ObjectMapper objectMapper) {
+        this.limits = limits;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!API.matches(request.getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        String apiKey = limits.getApiKeyHeader() == null
+                ? null : request.getHeaders().getFirst(limits.getApiKeyHeader());
+        long retryAfterSeconds = limits.admit(request.getMethod().name(),
+                limits.client(apiKey, remoteAddress(request)));
+        if (retryAfterSeconds == 0) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new MyErrorResponses("TOO_MANY_REQUESTS",
+                    "Rate limit exceeded, retry in " + retryAfterSeconds + "s"));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+    }
+
+    // Unresolved or absent addresses (test clients) share one bucket
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.belvinard.blog_api.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets refilled at permitsPerSecond up to burst tokens,
+ * without locks. Each bucket is a single long, the time at which it will be
+ * full again (the "theoretical arrival time" of GCRA), updated by CAS: a
+ * request is admitted when taking one token keeps that time within burst
+ * tokens of now. Admission costs a map lookup and usually one CAS, and
+ * allocates nothing for known clients.
+ * <p>
+ * A bucket that is full again is indistinguishable from a new one, so
+ * evictIdle() drops those and memory stays proportional to the clients
+ * active within a refill period.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long nanosPerPermit;
+    // How far ahead of now a bucket may be, i.e. the tokens that may be taken at once
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerPermit = Math.max(1, Math.round(1_000_000_000d / permitsPerSecond));
+        this.burstNanos = Math.multiplyExact(nanosPerPermit, (long) burst - 1);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token from the client's bucket.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            // Tokens already taken, as refill time; nanoTime may wrap, so only differences are compared
+            long ahead = Math.max(fullAt - now, 0);
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, now + ahead + nanosPerPermit)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again. A request racing with the removal
+     * may take its token from the dropped bucket: that client then gets one
+     * request more than its burst, once.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -1,8 +1,153 @@
 package com.belvinard.blog_api.repositories;
 
 import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.projections.ArticleSearchHit;
+import com.belvinard.blog_api.projections.ArticleSummary;
+import com.belvinard.blog_api.projections.ArticleVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ArticleRepository extends JpaRepository<Article, Long> {
-    Article findByTitle(String title);
-}
\ No newline at end of file
+    // Set-based uniqueness check for bulk creation
+    @Query("select a.title from Article a where a.title in :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    // Forward-only cursor over every article for exports; must be consumed
+    // inside a transaction and closed (PostgreSQL only streams with autocommit off)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select a from Article a order by a.articleId")
+    Stream<Article> streamAll();
+
+    // Keyset pagination: newest first, ties broken by id so the order is total
+    @Query("select a from Article a order by a.publicationDate desc, a.articleId desc")
+    List<Article> findFirstPage(Limit limit);
+
+    @Query("""
+            select a from Article a
+            where (a.publicationDate, a.articleId) < (:publicationDate, :articleId)
+            order by a.publicationDate desc, a.articleId desc
+            """)
+    List<Article> findPageAfter(@Param("publicationDate") LocalDateTime publicationDate,
+                                @Param("articleId") Long articleId,
+                                Limit limit);
+
+    // Same seeks, without the content column, for ?fields= selections that leave it out
+    @Query("""
+            select new com.belvinard.blog_api.projections.ArticleSummary(
+                a.articleId, a.title, a.publicationDate, a.lastUpdated, a.commentCount)
+            from Article a
+            order by a.publicationDate desc, a.articleId desc
+            """)
+    List<ArticleSummary> findFirstPageSummaries(Limit limit);
+
+    @Query("""
+            select new com.belvinard.blog_api.projections.ArticleSummary(
+                a.articleId, a.title, a.publicationDate, a.lastUpdated, a.commentCount)
+            from Article a
+            where (a.publicationDate, a.articleId) < (:publicationDate, :articleId)
+            order by a.publicationDate desc, a.articleId desc
+            """)
+    List<ArticleSummary> findSummariesAfter(@Param("publicationDate") LocalDateTime publicationDate,
+                                            @Param("articleId") Long articleId,
+                                            Limit limit);
+
+    @Query("""
+            select new com.belvinard.blog_api.projections.ArticleSummary(
+                a.articleId, a.title, a.publicationDate, a.lastUpdated, a.commentCount)
+            from Article a
+            where a.articleId = :articleId
+            """)
+    Optional<ArticleSummary> findSummaryById(@Param("articleId") Long articleId);
+
+    // Same seek as above, ids only: enough to fingerprint a page for conditional GETs
+    @Query("select a.articleId from Article a order by a.publicationDate desc, a.articleId desc")
+    List<Long> findFirstPageIds(Limit limit);
+
+    @Query("""
+            select a.articleId from Article a
+            where (a.publicationDate, a.articleId) < (:publicationDate, :articleId)
+            order by a.publicationDate desc, a.articleId desc
+            """)
+    List<Long> findPageIdsAfter(@Param("publicationDate") LocalDateTime publicationDate,
+                                @Param("articleId") Long articleId,
+                                Limit limit);
+
+    @Query("""
+            select new com.belvinard.blog_api.projections.ArticleVersion(
+                a.articleId, a.lastUpdated, a.commentCount, max(c.createdAt))
+            from Article a left join a.comments c
+            where a.articleId in :articleIds
+            group by a.articleId, a.lastUpdated, a.commentCount
+            """)
+    List<ArticleVersion> findVersions(@Param("articleIds") Collection<Long> articleIds);
+
+    // Atomic counter update on comment writes (delta -1 for deletes); 0 rows means no such article.
+    // Bypasses the persistence context: loaded articles keep their old count
+    @Modifying
+    @Query("update Article a set a.commentCount = a.commentCount + :delta where a.articleId = :articleId")
+    int adjustCommentCount(@Param("articleId") Long articleId, @Param("delta") long delta);
+
+    // Repairs counters that drifted from the comments table; returns the number of articles fixed
+    @Modifying
+    @Query(value = """
+            update articles a
+            set comment_count = (select count(*) from comments c where c.article_id = a.article_id)
+            where a.comment_count <> (select count(*) from comments c where c.article_id = a.article_id)
+            """, nativeQuery = true)
+    int reconcileCommentCounts();
+
+    // Ranked full-text search over the search_vector column (PostgreSQL only, see
+    // schema-postgresql.sql). Keyset on (rank, id); headlines only for the page
+    @Query(value = """
+            select h.article_id as articleId, h.title as title, h.publication_date as publicationDate,
+                   h.rank as rank,
+                   ts_headline('english', h.title, h.tsq, 'HighlightAll=true') as titleHighlight,
+                   ts_headline('english', h.content, h.tsq, 'MaxFragments=2, MinWords=5, MaxWords=20')
+                       as contentHighlight
+            from (select a.article_id, a.title, a.content, a.publication_date, q.tsq,
+                         cast(ts_rank(a.search_vector, q.tsq) as double precision) as rank
+                  from articles a cross join websearch_to_tsquery('english', :query) as q(tsq)
+                  where a.search_vector @@ q.tsq
+                  order by rank desc, a.article_id desc
+                  limit :limit) h
+            order by h.rank desc, h.article_id desc
+            """, nativeQuery = true)
+    List<ArticleSearchHit> searchFirstPage(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = """
+            select h.article_id as articleId, h.title as title, h.publication_date as publicationDate,
+                   h.rank as rank,
+                   ts_headline('english', h.title, h.tsq, 'HighlightAll=true') as titleHighlight,
+                   ts_headline('english', h.content, h.tsq, 'MaxFragments=2, MinWords=5, MaxWords=20')
+                       as contentHighlight
+            from (select a.article_id, a.title, a.content, a.publication_date, q.tsq,
+                         cast(ts_rank(a.search_vector, q.tsq) as double precision) as rank
+                  from articles a cross join websearch_to_tsquery('english', :query) as q(tsq)
+                  where a.search_vector @@ q.tsq
+                    and (cast(ts_rank(a.search_vector, q.tsq) as double precision), a.article_id)
+                        < (:rank, :articleId)
+                  order by rank desc, a.article_id desc
+                  limit :limit) h
+            order by h.rank desc, h.article_id desc
+            """, nativeQuery = true)
+    List<ArticleSearchHit> searchPageAfter(@Param("query") String query,
+                                           @Param("rank") double rank,
+                                           @Param("articleId") Long articleId,
+                                           @Param("limit") int limit);
+}
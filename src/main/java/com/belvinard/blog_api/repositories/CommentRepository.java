@@ -1,9 +1,58 @@
 package com.belvinard.blog_api.repositories;
 
 import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.projections.CommentPreview;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // Keyset pagination over (article_id, created_at): newest first, ties broken by id
+    @Query("""
+            select c from Comment c
+            where c.article.articleId = :articleId
+            order by c.createdAt desc, c.commentId desc
+            """)
+    List<Comment> findFirstPageByArticle(@Param("articleId") Long articleId, Limit limit);
+
+    @Query("""
+            select c from Comment c
+            where c.article.articleId = :articleId
+              and (c.createdAt, c.commentId) < (:createdAt, :commentId)
+            order by c.createdAt desc, c.commentId desc
+            """)
+    List<Comment> findPageByArticleAfter(@Param("articleId") Long articleId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("commentId") Long commentId,
+                                         Limit limit);
+
+    // Newest comments of each article, for a whole page in one query
+    @Query(value = """
+            select p.article_id as articleId, p.text as text, p.created_at as createdAt
+            from (select c.article_id, c.text, c.created_at,
+                         row_number() over (partition by c.article_id
+                                            order by c.created_at desc, c.comment_id desc) as preview_rank
+                  from comments c
+                  where c.article_id in (:articleIds)) p
+            where p.preview_rank <= :previewSize
+            order by p.article_id, p.preview_rank
+            """, nativeQuery = true)
+    List<CommentPreview> findPreviews(@Param("articleIds") Collection<Long> articleIds,
+                                      @Param("previewSize") int previewSize);
+
+    // All comments of a batch of articles, for exports and ?fields= lookups
+    @Query("""
+            select c from Comment c
+            where c.article.articleId in :articleIds
+            order by c.createdAt, c.commentId
+            """)
+    List<Comment> findByArticleIds(@Param("articleIds") Collection<Long> articleIds);
 }
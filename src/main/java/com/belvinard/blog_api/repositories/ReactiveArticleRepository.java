@@ -0,0 +1,144 @@
+package com.belvinard.blog_api.repositories;
+
+import com.belvinard.blog_api.entity.Article;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking (R2DBC) access to the articles table for the reactive
+ * profile. Same queries as {@link ArticleRepository}; the schema itself is
+ * still created and migrated by Hibernate.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveArticleRepository {
+
+    private static final String COLUMNS =
+            "article_id, title, content, publication_date, last_updated, comment_count";
+    // Rows fetched per round trip while streaming
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveArticleRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Keyset pagination: newest first, ties broken by id so the order is total
+    public Flux<Article> findFirstPage(int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from articles"
+                        + " order by publication_date desc, article_id desc limit :limit")
+                .bind("limit", limit)
+                .map(ReactiveArticleRepository::toArticle)
+                .all();
+    }
+
+    public Flux<Article> findPageAfter(LocalDateTime publicationDate, Long articleId, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from articles"
+                        + " where (publication_date, article_id) < (:publicationDate, :articleId)"
+                        + " order by publication_date desc, article_id desc limit :limit")
+                .bind("publicationDate", publicationDate)
+                .bind("articleId", articleId)
+                .bind("limit", limit)
+                .map(ReactiveArticleRepository::toArticle)
+                .all();
+    }
+
+    public Mono<Article> findById(Long articleId) {
+        return databaseClient.sql("select " + COLUMNS + " from articles where article_id = :articleId")
+                .bind("articleId", articleId)
+                .map(ReactiveArticleRepository::toArticle)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long articleId) {
+        return databaseClient.sql("select 1 from articles where article_id = :articleId")
+                .bind("articleId", articleId)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    // Every article by id; rows are pulled as the subscriber requests them
+    public Flux<Article> streamAll() {
+        return databaseClient.sql("select " + COLUMNS + " from articles order by article_id")
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(ReactiveArticleRepository::toArticle)
+                .all();
+    }
+
+    // Same sequence as the JPA mapping, so ids never collide between the two stacks
+    public Mono<Long> nextId() {
+        return databaseClient.sql("select nextval('articles_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Void> insert(Article article) {
+        return databaseClient.sql("insert into articles (" + COLUMNS + ")"
+                        + " values (:articleId, :title, :content, :publicationDate, :lastUpdated, :commentCount)")
+                .bind("articleId", article.getArticleId())
+                .bind("title", article.getTitle())
+                .bind("content", article.getContent())
+                .bind("publicationDate", article.getPublicationDate())
+                .bind("lastUpdated", article.getLastUpdated())
+                .bind("commentCount", article.getCommentCount())
+                .then();
+    }
+
+    // Writes only the given (non-null) columns, like @DynamicUpdate on the entity
+    public Mono<Void> update(Long articleId, String title, String content, LocalDateTime lastUpdated) {
+        StringJoiner assignments = new StringJoiner(", ");
+        if (title != null) {
+            assignments.add("title = :title");
+        }
+        if (content != null) {
+            assignments.add("content = :content");
+        }
+        assignments.add("last_updated = :lastUpdated");
+
+        DatabaseClient.GenericExecuteSpec update = databaseClient
+                .sql("update articles set " + assignments + " where article_id = :articleId")
+                .bind("articleId", articleId)
+                .bind("lastUpdated", lastUpdated);
+        if (title != null) {
+            update = update.bind("title", title);
+        }
+        if (content != null) {
+            update = update.bind("content", content);
+        }
+        return update.then();
+    }
+
+    // Same atomic counter update as ArticleRepository#adjustCommentCount; 0 rows means no such article
+    public Mono<Long> adjustCommentCount(Long articleId, long delta) {
+        return databaseClient.sql("update articles set comment_count = comment_count + :delta"
+                        + " where article_id = :articleId")
+                .bind("delta", delta)
+                .bind("articleId", articleId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Void> deleteById(Long articleId) {
+        return databaseClient.sql("delete from articles where article_id = :articleId")
+                .bind("articleId", articleId)
+                .then();
+    }
+
+    private static Article toArticle(Readable row) {
+        Article article = new Article(row.get("article_id", Long.class), row.get("title", String.class),
+                row.get("content", String.class));
+        article.setPublicationDate(row.get("publication_date", LocalDateTime.class));
+        article.setLastUpdated(row.get("last_updated", LocalDateTime.class));
+        article.setCommentCount(row.get("comment_count", Long.class));
+        return article;
+    }
+}
@@ -0,0 +1,126 @@
+package com.belvinard.blog_api.repositories;
+
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.projections.CommentPreview;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Non-blocking (R2DBC) counterpart of CommentRepository for the reactive profile
+@Repository
+@Profile("reactive")
+public class ReactiveCommentRepository {
+
+    private static final String COLUMNS = "comment_id, text, created_at, article_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCommentRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Keyset pagination over (article_id, created_at): newest first, ties broken by id
+    public Flux<Comment> findFirstPageByArticle(Long articleId, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from comments where article_id = :articleId"
+                        + " order by created_at desc, comment_id desc limit :limit")
+                .bind("articleId", articleId)
+                .bind("limit", limit)
+                .map(ReactiveCommentRepository::toComment)
+                .all();
+    }
+
+    public Flux<Comment> findPageByArticleAfter(Long articleId, LocalDateTime createdAt, Long commentId, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from comments where article_id = :articleId"
+                        + " and (created_at, comment_id) < (:createdAt, :commentId)"
+                        + " order by created_at desc, comment_id desc limit :limit")
+                .bind("articleId", articleId)
+                .bind("createdAt", createdAt)
+                .bind("commentId", commentId)
+                .bind("limit", limit)
+                .map(ReactiveCommentRepository::toComment)
+                .all();
+    }
+
+    // Newest comments of each article, for a whole page in one query
+    public Flux<CommentPreview> findPreviews(Collection<Long> articleIds, int previewSize) {
+        return databaseClient.sql("""
+                        select p.article_id, p.text, p.created_at
+                        from (select c.article_id, c.text, c.created_at,
+                                     row_number() over (partition by c.article_id
+                                                        order by c.created_at desc, c.comment_id desc) as preview_rank
+                              from comments c
+                              where c.article_id in (:articleIds)) p
+                        where p.preview_rank <= :previewSize
+                        order by p.article_id, p.preview_rank
+                        """)
+                .bind("articleIds", articleIds)
+                .bind("previewSize", previewSize)
+                .map(row -> (CommentPreview) new Preview(row.get("article_id", Long.class),
+                        row.get("text", String.class), row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    // All comments of a batch of articles, oldest first
+    public Flux<Comment> findByArticleIds(Collection<Long> articleIds) {
+        return databaseClient.sql("select " + COLUMNS + " from comments where article_id in (:articleIds)"
+                        + " order by created_at, comment_id")
+                .bind("articleIds", articleIds)
+                .map(ReactiveCommentRepository::toComment)
+                .all();
+    }
+
+    public Mono<Long> nextId() {
+        return databaseClient.sql("select nextval('comments_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Void> insert(Comment comment) {
+        return databaseClient.sql("insert into comments (" + COLUMNS + ")"
+                        + " values (:commentId, :text, :createdAt, :articleId)")
+                .bind("commentId", comment.getCommentId())
+                .bind("text", comment.getText())
+                .bind("createdAt", comment.getCreatedAt())
+                .bind("articleId", comment.getArticle().getArticleId())
+                .then();
+    }
+
+    public Mono<Void> deleteByArticleId(Long articleId) {
+        return databaseClient.sql("delete from comments where article_id = :articleId")
+                .bind("articleId", articleId)
+                .then();
+    }
+
+    // The article is a reference carrying only its id, as with a lazy JPA proxy
+    private static Comment toComment(Readable row) {
+        Article article = new Article();
+        article.setArticleId(row.get("article_id", Long.class));
+        return new Comment(row.get("comment_id", Long.class), row.get("text", String.class),
+                row.get("created_at", LocalDateTime.class), article);
+    }
+
+    private record Preview(Long articleId, String text, LocalDateTime createdAt) implements CommentPreview {
+
+        @Override
+        public Long getArticleId() {
+            return articleId;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
@@ -6,6 +6,10 @@ import java.util.List;
 public class ArticleResponse {
     private List<ArticleDTO> content;
 
+    // Opaque cursor to pass back for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+
     // Default constructor (needed for instantiation without parameters)
     public ArticleResponse() {}
 
@@ -14,6 +18,12 @@ public class ArticleResponse {
         this.content = content;
     }
 
+    public ArticleResponse(List<ArticleDTO> content, String nextCursor, boolean hasMore) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
     public List<ArticleDTO> getContent() {
         return content;
     }
@@ -21,4 +31,20 @@ public class ArticleResponse {
     public void setContent(List<ArticleDTO> content) {
         this.content = content;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
 }
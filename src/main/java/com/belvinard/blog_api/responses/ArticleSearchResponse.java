@@ -0,0 +1,45 @@
+package com.belvinard.blog_api.responses;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+
+import java.util.List;
+
+public class ArticleSearchResponse {
+    private List<ArticleSearchHitDTO> content;
+
+    // Opaque cursor to pass back for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ArticleSearchResponse() {}
+
+    public ArticleSearchResponse(List<ArticleSearchHitDTO> content, String nextCursor, boolean hasMore) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ArticleSearchHitDTO> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ArticleSearchHitDTO> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,43 @@
+package com.belvinard.blog_api.responses;
+
+import java.util.List;
+
+public class BulkArticleResponse {
+    private int created;
+    private int failed;
+    private List<BulkArticleResult> results;
+
+    public BulkArticleResponse() {}
+
+    public BulkArticleResponse(List<BulkArticleResult> results) {
+        this.results = results;
+        this.created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkArticleResult.Status.CREATED)
+                .count();
+        this.failed = results.size() - created;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkArticleResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkArticleResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,55 @@
+package com.belvinard.blog_api.responses;
+
+/**
+ * Outcome of one item of a bulk article creation, in request order.
+ */
+public class BulkArticleResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID }
+
+    private int index;
+    private Status status;
+    private Long articleId;
+    private String message;
+
+    public BulkArticleResult() {}
+
+    public BulkArticleResult(int index, Status status, Long articleId, String message) {
+        this.index = index;
+        this.status = status;
+        this.articleId = articleId;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
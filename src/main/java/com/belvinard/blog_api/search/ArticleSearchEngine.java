@@ -0,0 +1,22 @@
+package com.belvinard.blog_api.search;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.pagination.SearchCursor;
+
+import java.util.List;
+
+/**
+ * Ranked full-text search over article titles and contents. The
+ * implementation is chosen with blog.search.engine: "postgres" (default) or
+ * "memory" for databases without PostgreSQL full-text search.
+ */
+public interface ArticleSearchEngine {
+
+    /**
+     * Best matches first, ordered by (rank DESC, articleId DESC).
+     *
+     * @param after  position of the last hit of the previous page, or null
+     * @param limit  maximum number of hits to return
+     */
+    List<ArticleSearchHitDTO> search(String query, SearchCursor after, int limit);
+}
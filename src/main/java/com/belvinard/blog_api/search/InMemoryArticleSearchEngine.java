@@ -0,0 +1,93 @@
+package com.belvinard.blog_api.search;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.events.ArticleChangedEvent;
+import com.belvinard.blog_api.pagination.SearchCursor;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Search without PostgreSQL (H2, embedded databases): an {@link InvertedIndex}
+ * loaded once at startup and then kept current from {@link ArticleChangedEvent}s,
+ * so searches never reach the database.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.search.engine", havingValue = "memory")
+public class InMemoryArticleSearchEngine implements ArticleSearchEngine, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryArticleSearchEngine.class);
+
+    // Articles read between two persistence-context clears while loading
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final ArticleRepository articleRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public InMemoryArticleSearchEngine(ArticleRepository articleRepository,
+                                       EntityManager entityManager,
+                                       PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Runs before the web server starts, so no search sees a half-built index
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        List<SearchDocument> documents = readOnlyTransaction.execute(status -> loadDocuments());
+        index.rebuild(documents);
+        log.info("Search index built with {} articles in {} ms",
+                index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private List<SearchDocument> loadDocuments() {
+        List<SearchDocument> documents = new ArrayList<>();
+        try (Stream<Article> articles = articleRepository.streamAll()) {
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                documents.add(new SearchDocument(article.getArticleId(), article.getTitle(),
+                        article.getContent(), article.getPublicationDate()));
+                if (documents.size() % LOAD_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return documents;
+    }
+
+    // After commit, so rolled-back changes never reach the index; fallbackExecution
+    // covers changes saved outside a service transaction (createArticle)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.type() == ArticleChangedEvent.Type.DELETED) {
+            index.remove(event.articleId());
+        } else {
+            index.put(new SearchDocument(event.articleId(), event.title(), event.content(),
+                    event.publicationDate()));
+        }
+    }
+
+    @Override
+    public List<ArticleSearchHitDTO> search(String query, SearchCursor after, int limit) {
+        return index.search(query, after, limit);
+    }
+}
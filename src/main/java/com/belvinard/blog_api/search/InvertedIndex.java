@@ -0,0 +1,657 @@
+package com.belvinard.blog_api.search;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.pagination.SearchCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over article titles and contents, ranked with
+ * BM25F (title matches weigh more, like weight A vs B in PostgreSQL).
+ * <p>
+ * Every article is a document numbered in insertion order, so posting lists
+ * stay sorted by appending. Updates re-add the article as a new document and
+ * delete the old one; deleted documents are skipped at query time and purged
+ * by a rebuild once they outnumber the live ones. Thread-safe: searches share
+ * a read lock, updates take the write lock.
+ */
+public class InvertedIndex {
+
+    // BM25 term-frequency saturation and length normalization
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Same ratio as ts_rank's default weights for A (title) and B (content)
+    private static final float TITLE_WEIGHT = 2.5f;
+    // A prefix query matches at most this many terms (in term order)
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    // Documents analyzed by one fork-join leaf during a rebuild
+    private static final int BUILD_CHUNK_SIZE = 2_048;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1_024;
+
+    // Highlight shape, as the PostgreSQL query's ts_headline options
+    private static final int MAX_FRAGMENTS = 2;
+    private static final int FRAGMENT_WORDS = 20;
+    private static final int CONTEXT_WORDS = 5;
+    private static final String FRAGMENT_SEPARATOR = " ... ";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private LongIntHashMap docsByArticle = new LongIntHashMap(16);
+    // Per-document columns, indexed by document number
+    private long[] articleIds = new long[16];
+    private String[] titles = new String[16];
+    private String[] contents = new String[16];
+    private LocalDateTime[] publicationDates = new LocalDateTime[16];
+    private int[] titleLengths = new int[16];
+    private int[] contentLengths = new int[16];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveCount;
+    private long totalTitleLength;
+    private long totalContentLength;
+
+    /**
+     * Replaces the whole index. Documents are analyzed in parallel on the
+     * common fork-join pool.
+     */
+    public void rebuild(List<SearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            load(documents);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds the article, or replaces it when it is already indexed
+    public void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            int existing = docsByArticle.get(document.articleId());
+            if (existing != LongIntHashMap.MISSING) {
+                delete(existing);
+            }
+            add(document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            int doc = docsByArticle.get(articleId);
+            if (doc != LongIntHashMap.MISSING) {
+                delete(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Articles containing every required word of the query (see
+     * {@link TextAnalyzer#parseQuery}), best first, ordered by
+     * (rank DESC, articleId DESC) and starting after the given cursor.
+     */
+    public List<ArticleSearchHitDTO> search(String query, SearchCursor after, int limit) {
+        List<TextAnalyzer.QueryTerm> queryTerms = TextAnalyzer.parseQuery(query);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList[]> required = new ArrayList<>();
+            List<PostingList> excluded = new ArrayList<>();
+            for (TextAnalyzer.QueryTerm queryTerm : queryTerms) {
+                PostingList[] lists = lookup(queryTerm);
+                if (queryTerm.excluded()) {
+                    excluded.addAll(Arrays.asList(lists));
+                } else if (lists.length == 0) {
+                    return List.of();
+                } else {
+                    required.add(lists);
+                }
+            }
+            if (required.isEmpty() || liveCount == 0) {
+                return List.of();
+            }
+
+            // Start from the rarest word: every other word only filters its candidates
+            required.sort(Comparator.comparingLong(InvertedIndex::documentFrequency));
+            Candidates candidates = collect(required.get(0));
+            for (int i = 1; i < required.size() && candidates.size > 0; i++) {
+                candidates.intersect(required.get(i));
+            }
+            candidates.exclude(excluded);
+
+            int[] top = candidates.top(after, limit);
+            Highlighter highlighter = new Highlighter(queryTerms);
+            List<ArticleSearchHitDTO> hits = new ArrayList<>(top.length);
+            for (int candidate : top) {
+                int doc = candidates.docs[candidate];
+                hits.add(new ArticleSearchHitDTO(articleIds[doc], titles[doc], publicationDates[doc],
+                        candidates.scores[candidate], highlighter.title(titles[doc]),
+                        highlighter.content(contents[doc])));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PostingList[] lookup(TextAnalyzer.QueryTerm queryTerm) {
+        if (!queryTerm.prefix()) {
+            PostingList list = postings.get(queryTerm.term());
+            return list == null ? new PostingList[0] : new PostingList[]{list};
+        }
+        return postings.subMap(queryTerm.term(), true, queryTerm.term() + Character.MAX_VALUE, false)
+                .values().stream()
+                .filter(list -> list.live() > 0)
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .toArray(PostingList[]::new);
+    }
+
+    private static long documentFrequency(PostingList[] lists) {
+        long frequency = 0;
+        for (PostingList list : lists) {
+            frequency += list.live();
+        }
+        return frequency;
+    }
+
+    // Live documents of the given lists with their summed scores, in document order
+    private Candidates collect(PostingList[] lists) {
+        Scorer scorer = new Scorer();
+        if (lists.length == 1) {
+            PostingList list = lists[0];
+            float idf = scorer.idf(list);
+            Candidates candidates = new Candidates(list.size());
+            for (int position = 0; position < list.size(); position++) {
+                int doc = list.doc(position);
+                if (!deleted.get(doc)) {
+                    candidates.add(doc, scorer.score(list, position, idf));
+                }
+            }
+            return candidates;
+        }
+
+        // Several expansions of a prefix: sort (doc, score) pairs packed into longs, then sum per doc
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size();
+        }
+        long[] pairs = new long[total];
+        int pairCount = 0;
+        for (PostingList list : lists) {
+            float idf = scorer.idf(list);
+            for (int position = 0; position < list.size(); position++) {
+                int doc = list.doc(position);
+                if (!deleted.get(doc)) {
+                    pairs[pairCount++] = (long) doc << 32
+                            | (Float.floatToRawIntBits(scorer.score(list, position, idf)) & 0xFFFFFFFFL);
+                }
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+
+        Candidates candidates = new Candidates(pairCount);
+        for (int i = 0; i < pairCount; i++) {
+            int doc = (int) (pairs[i] >>> 32);
+            float score = Float.intBitsToFloat((int) pairs[i]);
+            if (candidates.size > 0 && candidates.docs[candidates.size - 1] == doc) {
+                candidates.scores[candidates.size - 1] += score;
+            } else {
+                candidates.add(doc, score);
+            }
+        }
+        return candidates;
+    }
+
+    private void load(List<SearchDocument> documents) {
+        int count = documents.size();
+        int capacity = Math.max(16, count);
+        long[] newArticleIds = new long[capacity];
+        String[] newTitles = new String[capacity];
+        String[] newContents = new String[capacity];
+        LocalDateTime[] newPublicationDates = new LocalDateTime[capacity];
+        int[] newTitleLengths = new int[capacity];
+        int[] newContentLengths = new int[capacity];
+        LongIntHashMap newDocsByArticle = new LongIntHashMap(count);
+        for (int doc = 0; doc < count; doc++) {
+            SearchDocument document = documents.get(doc);
+            newArticleIds[doc] = document.articleId();
+            newTitles[doc] = document.title();
+            newContents[doc] = document.content();
+            newPublicationDates[doc] = document.publicationDate();
+            newDocsByArticle.put(document.articleId(), doc);
+        }
+
+        Map<String, PostingList> built = ForkJoinPool.commonPool().invoke(
+                new BuildTask(newTitles, newContents, newTitleLengths, newContentLengths, 0, count));
+
+        postings = new TreeMap<>(built);
+        docsByArticle = newDocsByArticle;
+        articleIds = newArticleIds;
+        titles = newTitles;
+        contents = newContents;
+        publicationDates = newPublicationDates;
+        titleLengths = newTitleLengths;
+        contentLengths = newContentLengths;
+        deleted = new BitSet();
+        docCount = count;
+        liveCount = count;
+        totalTitleLength = Arrays.stream(newTitleLengths, 0, count).asLongStream().sum();
+        totalContentLength = Arrays.stream(newContentLengths, 0, count).asLongStream().sum();
+    }
+
+    private void add(SearchDocument document) {
+        if (docCount == articleIds.length) {
+            int capacity = docCount + (docCount >> 1);
+            articleIds = Arrays.copyOf(articleIds, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            contents = Arrays.copyOf(contents, capacity);
+            publicationDates = Arrays.copyOf(publicationDates, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+            contentLengths = Arrays.copyOf(contentLengths, capacity);
+        }
+
+        int doc = docCount++;
+        Map<String, int[]> frequencies = new HashMap<>();
+        analyze(document.title(), document.content(), frequencies);
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList(1))
+                    .add(doc, entry.getValue()[0], entry.getValue()[1]);
+            titleLengths[doc] += entry.getValue()[0];
+            contentLengths[doc] += entry.getValue()[1];
+        }
+
+        articleIds[doc] = document.articleId();
+        titles[doc] = document.title();
+        contents[doc] = document.content();
+        publicationDates[doc] = document.publicationDate();
+        docsByArticle.put(document.articleId(), doc);
+        liveCount++;
+        totalTitleLength += titleLengths[doc];
+        totalContentLength += contentLengths[doc];
+    }
+
+    private void delete(int doc) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        analyze(titles[doc], contents[doc], frequencies);
+        for (String term : frequencies.keySet()) {
+            postings.get(term).markDeleted();
+        }
+
+        docsByArticle.remove(articleIds[doc]);
+        deleted.set(doc);
+        titles[doc] = null;
+        contents[doc] = null;
+        publicationDates[doc] = null;
+        liveCount--;
+        totalTitleLength -= titleLengths[doc];
+        totalContentLength -= contentLengths[doc];
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = docCount - liveCount;
+        if (deletedCount >= MIN_DELETED_FOR_COMPACTION && deletedCount > liveCount) {
+            List<SearchDocument> live = new ArrayList<>(liveCount);
+            for (int doc = deleted.nextClearBit(0); doc < docCount; doc = deleted.nextClearBit(doc + 1)) {
+                live.add(new SearchDocument(articleIds[doc], titles[doc], contents[doc], publicationDates[doc]));
+            }
+            load(live);
+        }
+    }
+
+    // Term -> {title frequency, content frequency}
+    private static void analyze(String title, String content, Map<String, int[]> frequencies) {
+        TextAnalyzer.tokenize(title, (token, start, end) -> count(token, 0, frequencies));
+        TextAnalyzer.tokenize(content, (token, start, end) -> count(token, 1, frequencies));
+    }
+
+    private static void count(String token, int field, Map<String, int[]> frequencies) {
+        String term = TextAnalyzer.term(token);
+        if (term != null) {
+            frequencies.computeIfAbsent(term, key -> new int[2])[field]++;
+        }
+    }
+
+    // BM25F with the collection statistics of the moment
+    private final class Scorer {
+        private final float averageTitleLength = Math.max(1f, (float) totalTitleLength / liveCount);
+        private final float averageContentLength = Math.max(1f, (float) totalContentLength / liveCount);
+
+        float idf(PostingList list) {
+            return (float) Math.log(1 + (liveCount - list.live() + 0.5) / (list.live() + 0.5));
+        }
+
+        float score(PostingList list, int position, float idf) {
+            int doc = list.doc(position);
+            float frequency = TITLE_WEIGHT * list.titleFrequency(position)
+                    / (1 - B + B * titleLengths[doc] / averageTitleLength)
+                    + list.contentFrequency(position)
+                    / (1 - B + B * contentLengths[doc] / averageContentLength);
+            return idf * frequency * (K1 + 1) / (K1 + frequency);
+        }
+    }
+
+    // Matching documents and their scores so far, in document order
+    private final class Candidates {
+        private int[] docs;
+        private float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        // Keeps the documents found in at least one of the lists, adding their scores
+        void intersect(PostingList[] lists) {
+            Scorer scorer = new Scorer();
+            float[] idfs = new float[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idfs[i] = scorer.idf(lists[i]);
+            }
+
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                boolean found = false;
+                float score = scores[i];
+                for (int j = 0; j < lists.length; j++) {
+                    int position = lists[j].find(docs[i]);
+                    if (position >= 0) {
+                        found = true;
+                        score += scorer.score(lists[j], position, idfs[j]);
+                    }
+                }
+                if (found) {
+                    docs[kept] = docs[i];
+                    scores[kept] = score;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        void exclude(List<PostingList> lists) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                boolean excluded = false;
+                for (PostingList list : lists) {
+                    if (list.find(docs[i]) >= 0) {
+                        excluded = true;
+                        break;
+                    }
+                }
+                if (!excluded) {
+                    docs[kept] = docs[i];
+                    scores[kept] = scores[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Indexes of the best {@code limit} candidates after the cursor, best
+         * first. A bounded heap keeps the worst retained candidate at its root.
+         */
+        int[] top(SearchCursor after, int limit) {
+            int[] heap = new int[Math.min(limit, size)];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (after != null && !isAfter(i, after)) {
+                    continue;
+                }
+                if (heapSize < heap.length) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (heapSize > 0 && ranksBefore(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            // Pop the worst first to fill the result from the end
+            int[] top = new int[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                top[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            return top;
+        }
+
+        private boolean isAfter(int candidate, SearchCursor cursor) {
+            double score = scores[candidate];
+            return score < cursor.rank()
+                    || score == cursor.rank() && articleIds[docs[candidate]] < cursor.id();
+        }
+
+        // Higher score first, then higher article id (the PostgreSQL order)
+        private boolean ranksBefore(int first, int second) {
+            if (scores[first] != scores[second]) {
+                return scores[first] > scores[second];
+            }
+            return articleIds[docs[first]] > articleIds[docs[second]];
+        }
+
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksBefore(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int heapSize) {
+            int index = 0;
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < heapSize && ranksBefore(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < heapSize && ranksBefore(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(heap, index, worst);
+                index = worst;
+            }
+        }
+
+        private static void swap(int[] heap, int first, int second) {
+            int swapped = heap[first];
+            heap[first] = heap[second];
+            heap[second] = swapped;
+        }
+    }
+
+    // Wraps the words matching the query in <b></b>, like ts_headline
+    private static final class Highlighter {
+        private final Set<String> terms = new HashSet<>();
+        private final List<String> prefixes = new ArrayList<>();
+
+        Highlighter(List<TextAnalyzer.QueryTerm> queryTerms) {
+            for (TextAnalyzer.QueryTerm queryTerm : queryTerms) {
+                if (queryTerm.excluded()) {
+                    continue;
+                }
+                if (queryTerm.prefix()) {
+                    prefixes.add(queryTerm.term());
+                } else {
+                    terms.add(queryTerm.term());
+                }
+            }
+        }
+
+        String title(String title) {
+            StringBuilder highlighted = new StringBuilder(title.length() + 16);
+            int[] copied = {0};
+            TextAnalyzer.tokenize(title, (token, start, end) -> {
+                if (matches(token)) {
+                    highlighted.append(title, copied[0], start)
+                            .append("<b>").append(title, start, end).append("</b>");
+                    copied[0] = end;
+                }
+            });
+            return highlighted.append(title, copied[0], title.length()).toString();
+        }
+
+        // Up to MAX_FRAGMENTS windows of FRAGMENT_WORDS words around the first
+        // matches, or the beginning of the text when only the title matched
+        String content(String content) {
+            int[] starts = new int[content.length() / 2 + 1];
+            int[] ends = new int[starts.length];
+            BitSet matched = new BitSet();
+            int[] tokenCount = {0};
+            TextAnalyzer.tokenize(content, (token, start, end) -> {
+                if (matches(token)) {
+                    matched.set(tokenCount[0]);
+                }
+                starts[tokenCount[0]] = start;
+                ends[tokenCount[0]] = end;
+                tokenCount[0]++;
+            });
+
+            int count = tokenCount[0];
+            StringBuilder highlighted = new StringBuilder();
+            int fragments = 0;
+            int covered = 0;
+            for (int token = matched.nextSetBit(0); token >= 0 && fragments < MAX_FRAGMENTS;
+                 token = matched.nextSetBit(token + 1)) {
+                if (token < covered) {
+                    continue;
+                }
+                int from = Math.max(covered, token - CONTEXT_WORDS);
+                int to = Math.min(count, from + FRAGMENT_WORDS);
+                if (fragments > 0) {
+                    highlighted.append(FRAGMENT_SEPARATOR);
+                }
+                appendFragment(content, starts, ends, matched, from, to, highlighted);
+                covered = to;
+                fragments++;
+            }
+            if (fragments == 0 && count > 0) {
+                appendFragment(content, starts, ends, matched, 0, Math.min(count, FRAGMENT_WORDS), highlighted);
+            }
+            return highlighted.toString();
+        }
+
+        private static void appendFragment(String content, int[] starts, int[] ends, BitSet matched,
+                                           int from, int to, StringBuilder highlighted) {
+            int copied = starts[from];
+            for (int token = matched.nextSetBit(from); token >= 0 && token < to; token = matched.nextSetBit(token + 1)) {
+                highlighted.append(content, copied, starts[token])
+                        .append("<b>").append(content, starts[token], ends[token]).append("</b>");
+                copied = ends[token];
+            }
+            highlighted.append(content, copied, ends[to - 1]);
+        }
+
+        private boolean matches(String token) {
+            String term = TextAnalyzer.term(token);
+            for (String prefix : prefixes) {
+                // Prefixes are folded: "stories*" is "story", which "stories" only matches once folded
+                if (token.startsWith(prefix) || term != null && term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return term != null && terms.contains(term);
+        }
+    }
+
+    // Analyzes a range of documents, splitting it in halves down to BUILD_CHUNK_SIZE
+    private static final class BuildTask extends RecursiveTask<Map<String, PostingList>> {
+        private final String[] titles;
+        private final String[] contents;
+        private final int[] titleLengths;
+        private final int[] contentLengths;
+        private final int from;
+        private final int to;
+
+        BuildTask(String[] titles, String[] contents, int[] titleLengths, int[] contentLengths, int from, int to) {
+            this.titles = titles;
+            this.contents = contents;
+            this.titleLengths = titleLengths;
+            this.contentLengths = contentLengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<String, PostingList> compute() {
+            if (to - from <= BUILD_CHUNK_SIZE) {
+                return analyzeRange();
+            }
+
+            int middle = (from + to) >>> 1;
+            BuildTask right = new BuildTask(titles, contents, titleLengths, contentLengths, middle, to);
+            right.fork();
+            Map<String, PostingList> merged = new BuildTask(titles, contents, titleLengths, contentLengths,
+                    from, middle).compute();
+            // Right-hand documents all come after the left-hand ones: appending keeps lists sorted
+            right.join().forEach((term, list) -> merged.merge(term, list, (left, appended) -> {
+                left.addAll(appended);
+                return left;
+            }));
+            return merged;
+        }
+
+        private Map<String, PostingList> analyzeRange() {
+            Map<String, PostingList> segment = new HashMap<>();
+            Map<String, int[]> frequencies = new HashMap<>();
+            for (int doc = from; doc < to; doc++) {
+                frequencies.clear();
+                analyze(titles[doc], contents[doc], frequencies);
+                for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                    segment.computeIfAbsent(entry.getKey(), term -> new PostingList(4))
+                            .add(doc, entry.getValue()[0], entry.getValue()[1]);
+                    titleLengths[doc] += entry.getValue()[0];
+                    contentLengths[doc] += entry.getValue()[1];
+                }
+            }
+            return segment;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.belvinard.blog_api.search;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.pagination.SearchCursor;
+import com.belvinard.blog_api.projections.ArticleSearchHit;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// websearch_to_tsquery + ts_rank over the indexed search_vector column
+@Component
+@ConditionalOnProperty(name = "blog.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresArticleSearchEngine implements ArticleSearchEngine {
+
+    private final ArticleRepository articleRepository;
+
+    public PostgresArticleSearchEngine(ArticleRepository articleRepository) {
+        this.articleRepository = articleRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSearchHitDTO> search(String query, SearchCursor after, int limit) {
+        List<ArticleSearchHit> hits = after == null
+                ? articleRepository.searchFirstPage(query, limit)
+                : articleRepository.searchPageAfter(query, after.rank(), after.id(), limit);
+
+        return hits.stream()
+                .map(hit -> new ArticleSearchHitDTO(hit.getArticleId(), hit.getTitle(), hit.getPublicationDate(),
+                        hit.getRank(), hit.getTitleHighlight(), hit.getContentHighlight()))
+                .toList();
+    }
+}
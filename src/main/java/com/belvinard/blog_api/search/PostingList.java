@@ -0,0 +1,78 @@
+package com.belvinard.blog_api.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, in increasing document order, as parallel
+ * primitive arrays. The title and content frequencies of a posting are packed
+ * into a single int (16 bits each).
+ */
+final class PostingList {
+
+    private static final int MAX_FREQUENCY = 0xFFFF;
+
+    private int[] docs;
+    private int[] frequencies;
+    private int size;
+    // Postings whose document is not deleted: the document frequency used by BM25
+    private int live;
+
+    PostingList(int capacity) {
+        docs = new int[capacity];
+        frequencies = new int[capacity];
+    }
+
+    // Documents are numbered in insertion order, so appending keeps the list sorted
+    void add(int doc, int titleFrequency, int contentFrequency) {
+        if (size == docs.length) {
+            int capacity = Math.max(4, size + (size >> 1));
+            docs = Arrays.copyOf(docs, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        docs[size] = doc;
+        frequencies[size] = Math.min(titleFrequency, MAX_FREQUENCY) << 16 | Math.min(contentFrequency, MAX_FREQUENCY);
+        size++;
+        live++;
+    }
+
+    // Appends another list whose documents all come after this one's
+    void addAll(PostingList other) {
+        if (size + other.size > docs.length) {
+            docs = Arrays.copyOf(docs, size + other.size);
+            frequencies = Arrays.copyOf(frequencies, size + other.size);
+        }
+        System.arraycopy(other.docs, 0, docs, size, other.size);
+        System.arraycopy(other.frequencies, 0, frequencies, size, other.size);
+        size += other.size;
+        live += other.live;
+    }
+
+    void markDeleted() {
+        live--;
+    }
+
+    // Position of the document in the list, or a negative value when absent
+    int find(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc);
+    }
+
+    int doc(int position) {
+        return docs[position];
+    }
+
+    int titleFrequency(int position) {
+        return frequencies[position] >>> 16;
+    }
+
+    int contentFrequency(int position) {
+        return frequencies[position] & MAX_FREQUENCY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int live() {
+        return live;
+    }
+}
@@ -0,0 +1,7 @@
+package com.belvinard.blog_api.search;
+
+import java.time.LocalDateTime;
+
+// The fields of an article the in-memory index stores and searches
+public record SearchDocument(long articleId, String title, String content, LocalDateTime publicationDate) {
+}
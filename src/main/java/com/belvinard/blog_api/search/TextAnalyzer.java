@@ -0,0 +1,117 @@
+package com.belvinard.blog_api.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-cased letter/digit tokens and turns tokens into index
+ * terms: English stop words are dropped and plurals folded ("articles" and
+ * "article" are the same term).
+ */
+final class TextAnalyzer {
+
+    // Longer tokens (hashes, base64...) are not worth indexing
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    @FunctionalInterface
+    interface TokenConsumer {
+        // start/end are offsets of the token in the analyzed text
+        void accept(String token, int start, int end);
+    }
+
+    // One required (or excluded) word of a query; prefix terms are plural-folded like indexed terms
+    record QueryTerm(String term, boolean prefix, boolean excluded) {
+    }
+
+    private TextAnalyzer() {
+    }
+
+    static void tokenize(String text, TokenConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            if (i > start && i - start <= MAX_TOKEN_LENGTH) {
+                consumer.accept(text.substring(start, i).toLowerCase(Locale.ROOT), start, i);
+            }
+        }
+    }
+
+    // Index term of a token, or null for a stop word
+    static String term(String token) {
+        if (STOP_WORDS.contains(token)) {
+            return null;
+        }
+        return fold(token);
+    }
+
+    /**
+     * Words separated by spaces are all required; "-word" excludes articles
+     * containing the word and "word*" matches every term starting with "word".
+     * Stop words are ignored. A prefix is folded like a word, as to_tsquery stems
+     * prefix lexemes, so "quokkas*" finds the indexed "quokka"; a prefix ending
+     * in a plural-looking "s" then matches a little more ("dogs*" finds "dogma").
+     * Stop words are kept as prefixes ("the*" finds "theory").
+     */
+    static List<QueryTerm> parseQuery(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            boolean excluded = word.startsWith("-");
+            String text = excluded ? word.substring(1) : word;
+            boolean prefix = text.endsWith("*");
+            if (prefix) {
+                text = text.substring(0, text.length() - 1);
+            }
+
+            List<String> tokens = new ArrayList<>();
+            tokenize(text, (token, start, end) -> tokens.add(token));
+            for (int i = 0; i < tokens.size(); i++) {
+                // "e-mail*": only the last part is a prefix
+                if (prefix && i == tokens.size() - 1) {
+                    terms.add(new QueryTerm(fold(tokens.get(i)), true, excluded));
+                } else {
+                    String term = term(tokens.get(i));
+                    if (term != null) {
+                        terms.add(new QueryTerm(term, false, excluded));
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    // S-stemmer (Harman, 1991): folds regular English plurals only, never
+    // conflates unrelated words the way aggressive stemmers can
+    private static String fold(String token) {
+        int length = token.length();
+        if (length < 4 || token.charAt(length - 1) != 's') {
+            return token;
+        }
+        if (token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+        if (token.endsWith("es") && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, length - 1);
+        }
+        if (!token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+}
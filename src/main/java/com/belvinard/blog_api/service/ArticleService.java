@@ -1,17 +1,31 @@
 package com.belvinard.blog_api.service;
 
 import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.ArticleField;
+import com.belvinard.blog_api.dtos.ResourceVersion;
 import com.belvinard.blog_api.entity.Article;
 import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.responses.ArticleSearchResponse;
+import com.belvinard.blog_api.responses.BulkArticleResponse;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ArticleService {
-    ArticleResponse getAllArticles();
+    ArticleResponse getAllArticles(int pageSize, String cursor);
+    ArticleResponse getAllArticles(int pageSize, String cursor, Set<ArticleField> fields);
+    ResourceVersion getArticlesVersion(int pageSize, String cursor);
     ArticleDTO createArticle(ArticleDTO articleDTO);
+    BulkArticleResponse createArticles(List<ArticleDTO> articleDTOs);
     ArticleDTO getArticleById(Long articleId);
+    ArticleDTO getArticleById(Long articleId, Set<ArticleField> fields);
+    ResourceVersion getArticleVersion(Long articleId);
+    ResourceVersion getArticleVersion(ArticleDTO article);
     ArticleDTO patchArticle(Long articleId, ArticleDTO articleDTO);
     ArticleDTO deleteArticle(Long articleId);
+    void exportArticles(Consumer<ArticleDTO> sink);
+    ArticleSearchResponse searchArticles(String query, int pageSize, String cursor);
 
 
 }
\ No newline at end of file
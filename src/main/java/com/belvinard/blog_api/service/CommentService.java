@@ -1,7 +1,9 @@
 package com.belvinard.blog_api.service;
 
 import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.responses.CommentResponse;
 
 public interface CommentService {
     CommentDTO addComment(Long articleId, CommentDTO commentDTO);
+    CommentResponse getCommentsByArticle(Long articleId, int pageSize, String cursor);
 }
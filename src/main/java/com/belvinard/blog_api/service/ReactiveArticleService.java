@@ -0,0 +1,16 @@
+package com.belvinard.blog_api.service;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking ArticleService for the reactive profile (WebFlux + R2DBC)
+public interface ReactiveArticleService {
+    Mono<ArticleResponse> getAllArticles(int pageSize, String cursor);
+    Mono<ArticleDTO> createArticle(ArticleDTO articleDTO);
+    Mono<ArticleDTO> getArticleById(Long articleId);
+    Mono<ArticleDTO> patchArticle(Long articleId, ArticleDTO articleDTO);
+    Mono<ArticleDTO> deleteArticle(Long articleId);
+    Flux<ArticleDTO> exportArticles();
+}
@@ -0,0 +1,11 @@
+package com.belvinard.blog_api.service;
+
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.responses.CommentResponse;
+import reactor.core.publisher.Mono;
+
+// Non-blocking CommentService for the reactive profile (WebFlux + R2DBC)
+public interface ReactiveCommentService {
+    Mono<CommentDTO> addComment(Long articleId, CommentDTO commentDTO);
+    Mono<CommentResponse> getCommentsByArticle(Long articleId, int pageSize, String cursor);
+}
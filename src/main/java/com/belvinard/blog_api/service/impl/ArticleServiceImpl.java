@@ -1,112 +1,500 @@
 package com.belvinard.blog_api.service.impl;
 
+import com.belvinard.blog_api.config.CacheConfig;
 import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.ArticleField;
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
 import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.dtos.ResourceVersion;
 import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.events.ArticleChangedEvent;
 import com.belvinard.blog_api.exceptions.APIException;
 import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.mappers.ArticleMapper;
+import com.belvinard.blog_api.mappers.ArticlePatcher;
+import com.belvinard.blog_api.mappers.CommentMapper;
+import com.belvinard.blog_api.pagination.KeysetCursor;
+import com.belvinard.blog_api.pagination.SearchCursor;
+import com.belvinard.blog_api.projections.ArticleSummary;
+import com.belvinard.blog_api.projections.ArticleVersion;
+import com.belvinard.blog_api.projections.CommentPreview;
 import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.repositories.CommentRepository;
 import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.responses.ArticleSearchResponse;
+import com.belvinard.blog_api.responses.BulkArticleResponse;
+import com.belvinard.blog_api.responses.BulkArticleResult;
+import com.belvinard.blog_api.search.ArticleSearchEngine;
 import com.belvinard.blog_api.service.ArticleService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ArticleServiceImpl implements ArticleService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // Number of newest comments embedded in each listed article
+    private static final int COMMENT_PREVIEW_SIZE = 3;
+    // Articles exported between two persistence-context clears
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 5_000;
+    // Articles inserted between two flushes (JDBC batches of hibernate.jdbc.batch_size)
+    private static final int BULK_FLUSH_SIZE = 500;
+    // Titles per IN list of the uniqueness check
+    private static final int TITLE_CHECK_CHUNK_SIZE = 1_000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     private final ArticleRepository articleRepository;
-    private final ModelMapper modelMapper;
+    private final CommentRepository commentRepository;
+    private final ArticleMapper articleMapper;
+    private final CommentMapper commentMapper;
+    private final ArticlePatcher articlePatcher;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ArticleSearchEngine searchEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ArticleServiceImpl(ArticleRepository articleRepository, ModelMapper modelMapper) {
+    public ArticleServiceImpl(ArticleRepository articleRepository,
+                              CommentRepository commentRepository,
+                              ArticleMapper articleMapper,
+                              CommentMapper commentMapper,
+                              ArticlePatcher articlePatcher,
+                              EntityManager entityManager,
+                              Validator validator,
+                              ArticleSearchEngine searchEngine,
+                              ApplicationEventPublisher eventPublisher) {
         this.articleRepository = articleRepository;
-        this.modelMapper = modelMapper;
+        this.commentRepository = commentRepository;
+        this.articleMapper = articleMapper;
+        this.commentMapper = commentMapper;
+        this.articlePatcher = articlePatcher;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.searchEngine = searchEngine;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    @Transactional
-    public ArticleResponse getAllArticles() {
-        List<Article> articles = articleRepository.findAll();
-        if (articles.isEmpty()) {
+    @Transactional(readOnly = true)
+    public ArticleResponse getAllArticles(int pageSize, String cursor) {
+        return getAllArticles(pageSize, cursor, ArticleField.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArticleResponse getAllArticles(int pageSize, String cursor, Set<ArticleField> fields) {
+        validatePageSize(pageSize);
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        boolean firstPage = cursor == null || cursor.isBlank();
+        KeysetCursor position = firstPage ? null : KeysetCursor.decode(cursor);
+        // Without content, only the summary columns are read
+        List<ArticleDTO> articleDTOS;
+        if (fields.contains(ArticleField.CONTENT)) {
+            List<Article> articles = firstPage
+                    ? articleRepository.findFirstPage(limit)
+                    : articleRepository.findPageAfter(position.timestamp(), position.id(), limit);
+            articleDTOS = articles.stream().map(article -> articleMapper.toDto(article, null)).toList();
+        } else {
+            List<ArticleSummary> summaries = firstPage
+                    ? articleRepository.findFirstPageSummaries(limit)
+                    : articleRepository.findSummariesAfter(position.timestamp(), position.id(), limit);
+            articleDTOS = summaries.stream().map(summary -> articleMapper.toDto(summary, null)).toList();
+        }
+        if (firstPage && articleDTOS.isEmpty()) {
             throw new APIException("No articles created until now!");
         }
 
-        List<ArticleDTO> articleDTOS = articles.stream().map(article -> {
-            ArticleDTO articleDTO = modelMapper.map(article, ArticleDTO.class);
+        boolean hasMore = articleDTOS.size() > pageSize;
+        if (hasMore) {
+            articleDTOS = articleDTOS.subList(0, pageSize);
+        }
 
-            // ✅ Map comments manually
-            List<CommentDTO> commentDTOS = article.getComments().stream()
-                    .map(comment -> modelMapper.map(comment, CommentDTO.class))
-                    .toList();
-            articleDTO.setComments(commentDTOS);
+        // Newest comments of the whole page in one query, skipped when not asked for;
+        // counts come with the articles
+        if (fields.contains(ArticleField.COMMENTS)) {
+            Map<Long, List<CommentDTO>> previews = commentRepository
+                    .findPreviews(articleDTOS.stream().map(ArticleDTO::getArticleId).toList(), COMMENT_PREVIEW_SIZE)
+                    .stream()
+                    .collect(Collectors.groupingBy(CommentPreview::getArticleId,
+                            Collectors.mapping(commentMapper::toDto, Collectors.toList())));
+            articleDTOS.forEach(articleDTO ->
+                    articleDTO.setComments(previews.getOrDefault(articleDTO.getArticleId(), List.of())));
+        }
 
-            return articleDTO;
-        }).toList();
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleDTO last = articleDTOS.get(articleDTOS.size() - 1);
+            nextCursor = new KeysetCursor(last.getPublicationDate(), last.getArticleId()).encode();
+        }
 
-        ArticleResponse articleResponse = new ArticleResponse();
-        articleResponse.setContent(articleDTOS);
-        return articleResponse;
+        return new ArticleResponse(articleDTOS, nextCursor, hasMore);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getArticlesVersion(int pageSize, String cursor) {
+        validatePageSize(pageSize);
+
+        // Same seek as getAllArticles, but only ids: the extra row decides hasMore
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> articleIds;
+        if (cursor == null || cursor.isBlank()) {
+            articleIds = articleRepository.findFirstPageIds(limit);
+            if (articleIds.isEmpty()) {
+                throw new APIException("No articles created until now!");
+            }
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            articleIds = articleRepository.findPageIdsAfter(position.timestamp(), position.id(), limit);
+        }
+
+        List<ArticleVersion> versions = articleIds.isEmpty()
+                ? List.of()
+                : articleRepository.findVersions(articleIds.subList(0, Math.min(pageSize, articleIds.size())));
+        return toResourceVersion(articleIds, versions);
+    }
 
     @Override
     public ArticleDTO createArticle(@Valid @RequestBody ArticleDTO articleDTO) {
-        Article article = modelMapper.map(articleDTO, Article.class);
-        Article articleFromDb = articleRepository.findByTitle(article.getTitle());
-        if (articleFromDb != null) {
-            throw new ResourceNotFoundException("Article with the name " + article.getTitle() + " already exists");
+        Article article = articleMapper.toEntity(articleDTO);
 
+        // No lookup first: the unique index on title rejects duplicates, even concurrent ones
+        Article savedArticle;
+        try {
+            savedArticle = articleRepository.saveAndFlush(article);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateTitleOr(ex, article.getTitle());
         }
+        eventPublisher.publishEvent(ArticleChangedEvent.saved(savedArticle));
+        return articleMapper.toDto(savedArticle);
+    }
 
+    @Override
+    @Transactional
+    public BulkArticleResponse createArticles(List<ArticleDTO> articleDTOs) {
+        if (articleDTOs == null || articleDTOs.isEmpty()) {
+            throw new APIException("At least one article is required");
+        }
+        if (articleDTOs.size() > MAX_BULK_SIZE) {
+            throw new APIException("At most " + MAX_BULK_SIZE + " articles can be created at once");
+        }
 
-        Article savedArticle = articleRepository.save(article);
-        return modelMapper.map(savedArticle, ArticleDTO.class);
+        BulkArticleResult[] results = new BulkArticleResult[articleDTOs.size()];
+
+        // Validate every item on its own so one bad item does not reject the batch
+        Set<String> candidateTitles = new HashSet<>();
+        for (int i = 0; i < articleDTOs.size(); i++) {
+            ArticleDTO articleDTO = articleDTOs.get(i);
+            Set<ConstraintViolation<ArticleDTO>> violations = articleDTO == null
+                    ? Set.of() : validator.validate(articleDTO);
+            if (articleDTO == null || !violations.isEmpty()) {
+                String message = articleDTO == null ? "Article is required" : violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[i] = new BulkArticleResult(i, BulkArticleResult.Status.INVALID, null, message);
+            } else {
+                candidateTitles.add(articleDTO.getTitle());
+            }
+        }
+
+        // One set-based, titles-only lookup per chunk instead of one lookup per article
+        Set<String> takenTitles = new HashSet<>();
+        List<String> titles = new ArrayList<>(candidateTitles);
+        for (int from = 0; from < titles.size(); from += TITLE_CHECK_CHUNK_SIZE) {
+            takenTitles.addAll(articleRepository.findExistingTitles(
+                    titles.subList(from, Math.min(from + TITLE_CHECK_CHUNK_SIZE, titles.size()))));
+        }
+
+        List<Article> pending = new ArrayList<>(BULK_FLUSH_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(BULK_FLUSH_SIZE);
+        for (int i = 0; i < articleDTOs.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            ArticleDTO articleDTO = articleDTOs.get(i);
+            // add() also rejects titles repeated inside the request
+            if (!takenTitles.add(articleDTO.getTitle())) {
+                results[i] = new BulkArticleResult(i, BulkArticleResult.Status.DUPLICATE, null,
+                        "Article with the name " + articleDTO.getTitle() + " already exists");
+                continue;
+            }
+
+            pending.add(articleMapper.toEntity(articleDTO));
+            pendingIndexes.add(i);
+            if (pending.size() == BULK_FLUSH_SIZE) {
+                insertBatch(pending, pendingIndexes, results);
+            }
+        }
+        if (!pending.isEmpty()) {
+            insertBatch(pending, pendingIndexes, results);
+        }
+
+        return new BulkArticleResponse(Arrays.asList(results));
+    }
+
+    // Persist, flush as JDBC batches, then release the entities
+    private void insertBatch(List<Article> pending, List<Integer> pendingIndexes, BulkArticleResult[] results) {
+        articleRepository.saveAll(pending);
+        try {
+            articleRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            // Only possible if another request created one of the titles meanwhile
+            if (isDuplicateTitle(ex)) {
+                throw new APIException("An article of the batch was created concurrently, please retry");
+            }
+            throw ex;
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results[index] = new BulkArticleResult(index, BulkArticleResult.Status.CREATED,
+                    pending.get(i).getArticleId(), null);
+            eventPublisher.publishEvent(ArticleChangedEvent.saved(pending.get(i)));
+        }
+        entityManager.clear();
+        pending.clear();
+        pendingIndexes.clear();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#articleId")
     public ArticleDTO getArticleById(Long articleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Article", "article_id", articleId));
 
         // Convert Article -> ArticleDTO
-        return modelMapper.map(article, ArticleDTO.class);
+        return articleMapper.toDto(article);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArticleDTO getArticleById(Long articleId, Set<ArticleField> fields) {
+        ArticleDTO articleDTO;
+        if (fields.contains(ArticleField.CONTENT)) {
+            Article article = articleRepository.findById(articleId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Article", "article_id", articleId));
+            articleDTO = articleMapper.toDto(article, null);
+        } else {
+            ArticleSummary summary = articleRepository.findSummaryById(articleId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Article", "article_id", articleId));
+            articleDTO = articleMapper.toDto(summary, null);
+        }
+
+        // All comments, as in the full view
+        if (fields.contains(ArticleField.COMMENTS)) {
+            List<CommentDTO> comments = commentMapper.toDtos(commentRepository.findByArticleIds(List.of(articleId)));
+            articleDTO.setComments(comments);
+            articleDTO.setCommentCount((long) comments.size());
+        }
+        return articleDTO;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getArticleVersion(Long articleId) {
+        List<ArticleVersion> versions = articleRepository.findVersions(List.of(articleId));
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException("Article", "article_id", articleId);
+        }
+        return toResourceVersion(List.of(articleId), versions);
+    }
+
+    // Same validators from a full article (getArticleById), which holds everything the
+    // version query reads: a cached article is revalidated without touching the database
+    @Override
+    public ResourceVersion getArticleVersion(ArticleDTO article) {
+        LocalDateTime lastCommentAt = null;
+        for (CommentDTO comment : article.getComments()) {
+            lastCommentAt = latest(lastCommentAt, comment.getCreatedAt());
+        }
+        return toResourceVersion(List.of(article.getArticleId()), List.of(new ArticleVersion(
+                article.getArticleId(), article.getLastUpdated(), article.getCommentCount(), lastCommentAt)));
     }
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#articleId")
     public ArticleDTO patchArticle(Long articleId, ArticleDTO articleDTO) {
         Article existingArticle = articleRepository.findById(articleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "article_id", articleId));
 
-        // Only update non-null fields from DTO to existing entity
-        modelMapper.getConfiguration().setSkipNullEnabled(true);
-        modelMapper.map(articleDTO, existingArticle);
-
-        // Ensure ID remains unchanged
-        existingArticle.setArticleId(articleId);
+        // Only update non-null fields from DTO to existing entity. The entity is
+        // managed: dirty checking writes the changed columns, and nothing at all
+        // when the patch changes nothing. Flush so the DTO gets the new lastUpdated
+        if (articlePatcher.apply(articleDTO, existingArticle)) {
+            try {
+                articleRepository.flush();
+            } catch (DataIntegrityViolationException ex) {
+                throw duplicateTitleOr(ex, existingArticle.getTitle());
+            }
+            eventPublisher.publishEvent(ArticleChangedEvent.saved(existingArticle));
+        }
 
-        Article updatedArticle = articleRepository.save(existingArticle);
-        return modelMapper.map(updatedArticle, ArticleDTO.class);
+        return articleMapper.toDto(existingArticle);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#articleId")
     public ArticleDTO deleteArticle(Long articleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "article_id", articleId));
 
         // Convert to DTO before deletion for return
-        ArticleDTO articleDTO = modelMapper.map(article, ArticleDTO.class);
+        ArticleDTO articleDTO = articleMapper.toDto(article);
 
         articleRepository.delete(article);
+        eventPublisher.publishEvent(ArticleChangedEvent.deleted(articleId));
 
         return articleDTO;  // Return DTO with deleted details
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportArticles(Consumer<ArticleDTO> sink) {
+        try (Stream<Article> articles = articleRepository.streamAll()) {
+            List<Article> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    exportBatch(batch, sink);
+                }
+            }
+            if (!batch.isEmpty()) {
+                exportBatch(batch, sink);
+            }
+        }
+    }
+
+    // Comments of the whole batch in one query, then the batch is released so
+    // memory stays flat however many articles are exported
+    private void exportBatch(List<Article> batch, Consumer<ArticleDTO> sink) {
+        Map<Long, List<CommentDTO>> comments = commentRepository
+                .findByArticleIds(batch.stream().map(Article::getArticleId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getArticle().getArticleId(),
+                        Collectors.mapping(commentMapper::toDto, Collectors.toList())));
+
+        for (Article article : batch) {
+            List<CommentDTO> articleComments = comments.getOrDefault(article.getArticleId(), List.of());
+            ArticleDTO articleDTO = articleMapper.toDto(article, articleComments);
+            articleDTO.setCommentCount((long) articleComments.size());
+            sink.accept(articleDTO);
+        }
+
+        batch.clear();
+        entityManager.clear();
+    }
+
+    // No transaction here: the in-memory engine never needs a connection
+    @Override
+    public ArticleSearchResponse searchArticles(String query, int pageSize, String cursor) {
+        validatePageSize(pageSize);
+        if (query == null || query.isBlank()) {
+            throw new APIException("Search query cannot be blank");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new APIException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        // Fetch one extra hit to know whether another page exists
+        SearchCursor position = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        List<ArticleSearchHitDTO> hits = searchEngine.search(query, position, pageSize + 1);
+
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleSearchHitDTO last = hits.get(hits.size() - 1);
+            nextCursor = new SearchCursor(last.getRank(), last.getArticleId()).encode();
+        }
+
+        return new ArticleSearchResponse(hits, nextCursor, hasMore);
+    }
+
+    // Maps a violation of the unique title index to the usual duplicate-title error
+    private static RuntimeException duplicateTitleOr(DataIntegrityViolationException ex, String title) {
+        if (isDuplicateTitle(ex)) {
+            return new ResourceNotFoundException("Article with the name " + title + " already exists");
+        }
+        return ex;
+    }
+
+    private static boolean isDuplicateTitle(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(Article.TITLE_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private static void validatePageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Strong ETag over everything the response is built from; Last-Modified is
+    // the newest article or comment change (-1 when there is nothing to date)
+    private static ResourceVersion toResourceVersion(List<Long> articleIds, List<ArticleVersion> versions) {
+        StringBuilder fingerprint = new StringBuilder(articleIds.toString());
+        LocalDateTime lastModified = null;
+        for (ArticleVersion version : versions.stream()
+                .sorted(Comparator.comparing(ArticleVersion::articleId)).toList()) {
+            fingerprint.append('|').append(version.articleId())
+                    .append(':').append(version.lastUpdated())
+                    .append(':').append(version.commentCount())
+                    .append(':').append(version.lastCommentAt());
+            lastModified = latest(lastModified, latest(version.lastUpdated(), version.lastCommentAt()));
+        }
+
+        String eTag = DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+        long lastModifiedMillis = lastModified == null
+                ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion(eTag, lastModifiedMillis);
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
 }
@@ -1,44 +1,105 @@
 package com.belvinard.blog_api.service.impl;
 
+import com.belvinard.blog_api.config.CacheConfig;
 import com.belvinard.blog_api.dtos.CommentDTO;
-import com.belvinard.blog_api.entity.Article;
 import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.events.CommentsAddedEvent;
+import com.belvinard.blog_api.exceptions.APIException;
 import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.mappers.CommentMapper;
+import com.belvinard.blog_api.pagination.KeysetCursor;
 import com.belvinard.blog_api.repositories.ArticleRepository;
 import com.belvinard.blog_api.repositories.CommentRepository;
+import com.belvinard.blog_api.responses.CommentResponse;
 import com.belvinard.blog_api.service.CommentService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 public class CommentServiceImpl implements CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final ArticleRepository articleRepository;
-    private final ModelMapper modelMapper;
+    private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CommentServiceImpl(CommentRepository commentRepository,
                               ArticleRepository articleRepository,
-                              ModelMapper modelMapper) {
+                              CommentMapper commentMapper,
+                              ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.articleRepository = articleRepository;
-        this.modelMapper = modelMapper;
+        this.commentMapper = commentMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#articleId")
     public CommentDTO addComment(Long articleId, CommentDTO commentDTO) {
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Article", "article_id", articleId));
+        // One UPDATE keeps comment_count in step and doubles as the existence
+        // check, so the article itself is never loaded
+        if (articleRepository.adjustCommentCount(articleId, 1) == 0) {
+            throw new ResourceNotFoundException("Article", "article_id", articleId);
+        }
 
         Comment comment = new Comment();
         comment.setText(commentDTO.getText());
-        comment.setArticle(article);
+        comment.setArticle(articleRepository.getReferenceById(articleId));
+
+        // Flush so the INSERT runs now: ids come from a pooled sequence, and
+        // createdAt is only generated when the row is written
+        Comment savedComment = commentRepository.saveAndFlush(comment);
+        eventPublisher.publishEvent(new CommentsAddedEvent(articleId, 1));
+
+        return commentMapper.toDto(savedComment);
+    }
+
+    // Read-only, so it goes to a read replica when some are configured
+    @Transactional(readOnly = true)
+    @Override
+    public CommentResponse getCommentsByArticle(Long articleId, int pageSize, String cursor) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findFirstPageByArticle(articleId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            comments = commentRepository.findPageByArticleAfter(
+                    articleId, position.timestamp(), position.id(), limit);
+        }
+
+        // Only pay for the existence check when the page comes back empty
+        if (comments.isEmpty() && !articleRepository.existsById(articleId)) {
+            throw new ResourceNotFoundException("Article", "article_id", articleId);
+        }
+
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
+
+        List<CommentDTO> commentDTOS = commentMapper.toDtos(comments);
 
-        Comment savedComment = commentRepository.save(comment);
+        String nextCursor = null;
+        if (hasMore) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getCommentId()).encode();
+        }
 
-        return modelMapper.map(savedComment, CommentDTO.class);
+        return new CommentResponse(commentDTOS, nextCursor, hasMore);
     }
 
 }
@@ -0,0 +1,215 @@
+package com.belvinard.blog_api.service.impl;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.events.ArticleChangedEvent;
+import com.belvinard.blog_api.exceptions.APIException;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.mappers.ArticleMapper;
+import com.belvinard.blog_api.mappers.ArticlePatcher;
+import com.belvinard.blog_api.mappers.CommentMapper;
+import com.belvinard.blog_api.pagination.KeysetCursor;
+import com.belvinard.blog_api.projections.CommentPreview;
+import com.belvinard.blog_api.repositories.ReactiveArticleRepository;
+import com.belvinard.blog_api.repositories.ReactiveCommentRepository;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.service.ReactiveArticleService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveArticleServiceImpl implements ReactiveArticleService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Number of newest comments embedded in each listed article
+    private static final int COMMENT_PREVIEW_SIZE = 3;
+    // Articles whose comments are fetched together while exporting
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    private final ReactiveArticleRepository articleRepository;
+    private final ReactiveCommentRepository commentRepository;
+    private final ArticleMapper articleMapper;
+    private final CommentMapper commentMapper;
+    private final ArticlePatcher articlePatcher;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReactiveArticleServiceImpl(ReactiveArticleRepository articleRepository,
+                                      ReactiveCommentRepository commentRepository,
+                                      ArticleMapper articleMapper,
+                                      CommentMapper commentMapper,
+                                      ArticlePatcher articlePatcher,
+                                      TransactionalOperator transactionalOperator,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.articleRepository = articleRepository;
+        this.commentRepository = commentRepository;
+        this.articleMapper = articleMapper;
+        this.commentMapper = commentMapper;
+        this.articlePatcher = articlePatcher;
+        this.transactionalOperator = transactionalOperator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Mono<ArticleResponse> getAllArticles(int pageSize, String cursor) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Mono.error(new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        boolean firstPage = cursor == null || cursor.isBlank();
+
+        // Fetch one extra row to know whether another page exists
+        Flux<Article> rows;
+        if (firstPage) {
+            rows = articleRepository.findFirstPage(pageSize + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = articleRepository.findPageAfter(position.timestamp(), position.id(), pageSize + 1);
+        }
+
+        return rows.collectList().flatMap(articles -> {
+            if (firstPage && articles.isEmpty()) {
+                return Mono.error(new APIException("No articles created until now!"));
+            }
+            if (articles.isEmpty()) {
+                return Mono.just(new ArticleResponse(List.of(), null, false));
+            }
+
+            boolean hasMore = articles.size() > pageSize;
+            List<Article> page = hasMore ? articles.subList(0, pageSize) : articles;
+            String nextCursor = null;
+            if (hasMore) {
+                Article last = page.get(page.size() - 1);
+                nextCursor = new KeysetCursor(last.getPublicationDate(), last.getArticleId()).encode();
+            }
+            String pageCursor = nextCursor;
+
+            // Newest comments of the whole page in one query; counts come with the articles
+            return commentRepository
+                    .findPreviews(page.stream().map(Article::getArticleId).toList(), COMMENT_PREVIEW_SIZE)
+                    .collect(Collectors.groupingBy(CommentPreview::getArticleId,
+                            Collectors.mapping(commentMapper::toDto, Collectors.toList())))
+                    .map(previews -> new ArticleResponse(page.stream()
+                            .map(article -> articleMapper.toDto(article,
+                                    previews.getOrDefault(article.getArticleId(), List.of())))
+                            .toList(), pageCursor, hasMore));
+        });
+    }
+
+    @Override
+    public Mono<ArticleDTO> createArticle(ArticleDTO articleDTO) {
+        Article article = articleMapper.toEntity(articleDTO);
+
+        // No lookup first: the unique index on title rejects duplicates, even concurrent ones
+        return articleRepository.nextId()
+                .flatMap(articleId -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    article.setArticleId(articleId);
+                    article.setPublicationDate(now);
+                    article.setLastUpdated(now);
+                    return articleRepository.insert(article);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, ex -> duplicateTitleOr(ex, article.getTitle()))
+                .then(Mono.fromCallable(() -> {
+                    eventPublisher.publishEvent(ArticleChangedEvent.saved(article));
+                    return withComments(article, List.of());
+                }));
+    }
+
+    @Override
+    public Mono<ArticleDTO> getArticleById(Long articleId) {
+        return findArticle(articleId).flatMap(this::withAllComments);
+    }
+
+    @Override
+    public Mono<ArticleDTO> patchArticle(Long articleId, ArticleDTO articleDTO) {
+        return findArticle(articleId).flatMap(article -> {
+            String title = article.getTitle();
+            String content = article.getContent();
+            // Unchanged values write nothing; otherwise a single UPDATE of the changed columns
+            if (!articlePatcher.apply(articleDTO, article)) {
+                return withAllComments(article);
+            }
+            article.setLastUpdated(LocalDateTime.now());
+            return articleRepository.update(articleId,
+                            Objects.equals(title, article.getTitle()) ? null : article.getTitle(),
+                            Objects.equals(content, article.getContent()) ? null : article.getContent(),
+                            article.getLastUpdated())
+                    .onErrorMap(DataIntegrityViolationException.class, ex -> duplicateTitleOr(ex, article.getTitle()))
+                    .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(ArticleChangedEvent.saved(article))))
+                    .then(withAllComments(article));
+        });
+    }
+
+    @Override
+    public Mono<ArticleDTO> deleteArticle(Long articleId) {
+        // Comments go first: the JPA mapping cascades the delete, the table does not
+        Mono<ArticleDTO> delete = findArticle(articleId)
+                .flatMap(this::withAllComments)
+                .flatMap(articleDTO -> commentRepository.deleteByArticleId(articleId)
+                        .then(articleRepository.deleteById(articleId))
+                        .thenReturn(articleDTO));
+        // Listeners run once the transaction has committed
+        return transactionalOperator.transactional(delete)
+                .doOnSuccess(deleted -> eventPublisher.publishEvent(ArticleChangedEvent.deleted(articleId)));
+    }
+
+    /**
+     * Streams every article with its comments. Rows are read as downstream
+     * demand allows and one batch of comments is loaded at a time, so a slow
+     * client slows the query down instead of filling memory.
+     */
+    @Override
+    public Flux<ArticleDTO> exportArticles() {
+        return articleRepository.streamAll()
+                .buffer(EXPORT_BATCH_SIZE)
+                .concatMap(batch -> commentRepository
+                        .findByArticleIds(batch.stream().map(Article::getArticleId).toList())
+                        .collect(Collectors.groupingBy(comment -> comment.getArticle().getArticleId(),
+                                Collectors.mapping(commentMapper::toDto, Collectors.toList())))
+                        .flatMapIterable(comments -> batch.stream()
+                                .map(article -> withComments(article,
+                                        comments.getOrDefault(article.getArticleId(), List.of())))
+                                .toList()), 1);
+    }
+
+    private Mono<Article> findArticle(Long articleId) {
+        return articleRepository.findById(articleId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Article", "article_id", articleId)));
+    }
+
+    private Mono<ArticleDTO> withAllComments(Article article) {
+        return commentRepository.findByArticleIds(List.of(article.getArticleId()))
+                .map(commentMapper::toDto)
+                .collectList()
+                .map(comments -> withComments(article, comments));
+    }
+
+    private ArticleDTO withComments(Article article, List<CommentDTO> comments) {
+        ArticleDTO articleDTO = articleMapper.toDto(article, comments);
+        articleDTO.setCommentCount((long) comments.size());
+        return articleDTO;
+    }
+
+    // Maps a violation of the unique title index to the usual duplicate-title error
+    private static Throwable duplicateTitleOr(DataIntegrityViolationException ex, String title) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null
+                    && cause.getMessage().toLowerCase().contains(Article.TITLE_UNIQUE_CONSTRAINT)) {
+                return new ResourceNotFoundException("Article with the name " + title + " already exists");
+            }
+        }
+        return ex;
+    }
+}
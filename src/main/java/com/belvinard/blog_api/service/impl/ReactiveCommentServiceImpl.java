@@ -0,0 +1,94 @@
+package com.belvinard.blog_api.service.impl;
+
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.exceptions.APIException;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.mappers.CommentMapper;
+import com.belvinard.blog_api.pagination.KeysetCursor;
+import com.belvinard.blog_api.repositories.ReactiveArticleRepository;
+import com.belvinard.blog_api.repositories.ReactiveCommentRepository;
+import com.belvinard.blog_api.responses.CommentResponse;
+import com.belvinard.blog_api.service.ReactiveCommentService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveCommentServiceImpl implements ReactiveCommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveCommentRepository commentRepository;
+    private final ReactiveArticleRepository articleRepository;
+    private final CommentMapper commentMapper;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveCommentServiceImpl(ReactiveCommentRepository commentRepository,
+                                      ReactiveArticleRepository articleRepository,
+                                      CommentMapper commentMapper,
+                                      TransactionalOperator transactionalOperator) {
+        this.commentRepository = commentRepository;
+        this.articleRepository = articleRepository;
+        this.commentMapper = commentMapper;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<CommentDTO> addComment(Long articleId, CommentDTO commentDTO) {
+        Article article = new Article();
+        article.setArticleId(articleId);
+
+        // The counter UPDATE doubles as the existence check
+        Mono<CommentDTO> add = articleRepository.adjustCommentCount(articleId, 1)
+                .filter(updated -> updated > 0)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Article", "article_id", articleId)))
+                .then(commentRepository.nextId())
+                .flatMap(commentId -> {
+                    Comment comment = new Comment(commentId, commentDTO.getText(), LocalDateTime.now(), article);
+                    return commentRepository.insert(comment).thenReturn(commentMapper.toDto(comment));
+                });
+        return transactionalOperator.transactional(add);
+    }
+
+    @Override
+    public Mono<CommentResponse> getCommentsByArticle(Long articleId, int pageSize, String cursor) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Mono.error(new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Flux<Comment> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentRepository.findFirstPageByArticle(articleId, pageSize + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = commentRepository.findPageByArticleAfter(articleId, position.timestamp(), position.id(),
+                    pageSize + 1);
+        }
+
+        return rows.collectList().flatMap(comments -> {
+            // Only pay for the existence check when the page comes back empty
+            if (comments.isEmpty()) {
+                return articleRepository.existsById(articleId).flatMap(exists -> exists
+                        ? Mono.just(new CommentResponse(List.of(), null, false))
+                        : Mono.error(new ResourceNotFoundException("Article", "article_id", articleId)));
+            }
+
+            boolean hasMore = comments.size() > pageSize;
+            List<Comment> page = hasMore ? comments.subList(0, pageSize) : comments;
+            String nextCursor = null;
+            if (hasMore) {
+                Comment last = page.get(page.size() - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getCommentId()).encode();
+            }
+            return Mono.just(new CommentResponse(commentMapper.toDtos(page), nextCursor, hasMore));
+        });
+    }
+}
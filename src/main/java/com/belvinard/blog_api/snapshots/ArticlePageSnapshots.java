@@ -0,0 +1,138 @@
+package com.belvinard.blog_api.snapshots;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.ResourceVersion;
+import com.belvinard.blog_api.events.ArticleChangedEvent;
+import com.belvinard.blog_api.events.CommentsAddedEvent;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.service.ArticleService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The first page of GET /api/articles, per page size, kept as the JSON bytes
+ * the controller would write (plus a gzip copy), with its validators. A hit
+ * touches neither the database, the mappers nor Jackson.
+ * <p>
+ * Snapshots are built on demand and dropped after commit by the changes that
+ * can alter them: a saved article on the page or newer than its oldest
+ * entry, a deleted article, a comment on one of its articles. max-age bounds
+ * the staleness left by writes that publish no event (the comment count
+ * reconciler, manual SQL).
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "blog.article-snapshots.enabled", havingValue = "true", matchIfMissing = true)
+public class ArticlePageSnapshots {
+
+    public record Snapshot(byte[] json, byte[] gzip, ResourceVersion version, Set<Long> articleIds,
+                           LocalDateTime oldestPublication, long builtAtNanos) {
+    }
+
+    private final ArticleService articleService;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeNanos;
+    private final boolean gzip;
+    private final ConcurrentHashMap<Integer, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a snapshot built across one is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public ArticlePageSnapshots(ArticleService articleService,
+                                ObjectMapper objectMapper,
+                                @Value("${blog.article-snapshots.max-age:60s}") Duration maxAge,
+                                @Value("${blog.article-snapshots.gzip:true}") boolean gzip) {
+        this.articleService = articleService;
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.gzip = gzip;
+    }
+
+    public Snapshot firstPage(int pageSize) {
+        Snapshot snapshot = snapshots.get(pageSize);
+        if (snapshot != null && System.nanoTime() - snapshot.builtAtNanos() < maxAgeNanos) {
+            return snapshot;
+        }
+
+        long builtFor = generation.get();
+        snapshot = build(pageSize);
+        snapshots.put(pageSize, snapshot);
+        if (generation.get() != builtFor) {
+            // Something changed while building; serve it this once, but don't keep it
+            snapshots.remove(pageSize, snapshot);
+        }
+        return snapshot;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.type() == ArticleChangedEvent.Type.DELETED) {
+            // May shorten any page or flip its hasMore
+            invalidateAll();
+            return;
+        }
+        // New articles are the newest, so they land on every first page
+        invalidateIf(snapshot -> snapshot.articleIds().contains(event.articleId())
+                || event.publicationDate() == null
+                || !event.publicationDate().isBefore(snapshot.oldestPublication()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentsAdded(CommentsAddedEvent event) {
+        invalidateIf(snapshot -> snapshot.articleIds().contains(event.articleId()));
+    }
+
+    private void invalidateIf(Predicate<Snapshot> affected) {
+        generation.incrementAndGet();
+        snapshots.values().removeIf(affected);
+    }
+
+    private Snapshot build(int pageSize) {
+        // Validators first, as the uncached path does: a change in between only makes them older
+        ResourceVersion version = articleService.getArticlesVersion(pageSize, null);
+        ArticleResponse response = articleService.getAllArticles(pageSize, null);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        Set<Long> articleIds = response.getContent().stream()
+                .map(ArticleDTO::getArticleId)
+                .collect(Collectors.toUnmodifiableSet());
+        LocalDateTime oldest = response.getContent().get(response.getContent().size() - 1).getPublicationDate();
+        return new Snapshot(json, gzip ? gzip(json) : null, version, articleIds, oldest, System.nanoTime());
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+}
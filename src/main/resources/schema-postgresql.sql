@@ -0,0 +1,17 @@
+-- Runs after Hibernate's ddl-auto (spring.jpa.defer-datasource-initialization),
+-- on PostgreSQL only (spring.sql.init.platform). Every statement is idempotent.
+
+-- Full-text search: title weighs more than content, kept in sync by PostgreSQL itself
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_articles_search_vector ON articles USING GIN (search_vector);
+
+-- Id sequences (pooled, allocationSize 50): ddl-auto creates them at 1, also on databases
+-- whose tables already hold ids from the former IDENTITY columns. Move them past the
+-- highest id; greatest() never moves them back, on an empty table it keeps last_value
+SELECT setval('articles_seq', greatest((SELECT max(article_id) FROM articles), (SELECT last_value FROM articles_seq)));
+SELECT setval('comments_seq', greatest((SELECT max(comment_id) FROM comments), (SELECT last_value FROM comments_seq)));
@@ -0,0 +1,76 @@
+package com.belvinard.blog_api.aspects;
+
+import com.belvinard.blog_api.exceptions.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseBulkheadAspectTest {
+
+    private final DatabaseBulkheadAspect bulkhead = new DatabaseBulkheadAspect(1, Duration.ofMillis(100));
+    private final Work work = proxy(new Work());
+
+    @Test
+    void nestedCallsReuseThePermitOfTheOutermostCall() {
+        // Would time out if the nested call needed a second permit
+        assertThat(work.outer()).isEqualTo("inner");
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsCallersThatWaitLongerThanMaxWait() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> work.hold(entered, release));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(work::inner).isInstanceOf(ServiceBusyException.class);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(work.inner()).isEqualTo("inner");
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    private Work proxy(Work target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.setExposeProxy(true);
+        factory.addAspect(bulkhead);
+        Work proxy = factory.getProxy();
+        target.self = proxy;
+        return proxy;
+    }
+
+    static class Work {
+        Work self;
+
+        @Transactional
+        public String outer() {
+            return self.inner();
+        }
+
+        @Transactional
+        public String inner() {
+            return "inner";
+        }
+
+        @Transactional
+        public void hold(CountDownLatch entered, CountDownLatch release) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
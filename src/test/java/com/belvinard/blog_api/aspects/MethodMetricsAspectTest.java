@@ -0,0 +1,61 @@
+package com.belvinard.blog_api.aspects;
+
+import com.belvinard.blog_api.controllers.ArticleController;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class MethodMetricsAspectTest {
+
+    @Autowired
+    private ArticleController articleController;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void timesControllerAndServiceCallsTaggedWithTheirOutcome() throws Exception {
+        Article article = articleRepository.save(new Article(null, "Measured article", "Article read by the test"));
+        // The context, and so the registry, is shared with other test classes
+        long controllerOk = count("controller", "ArticleController", "getArticleById", "none");
+        long controllerNotFound = count("controller", "ArticleController", "getArticleById", "ResourceNotFoundException");
+        long serviceNotFound = count("service", "ArticleServiceImpl", "getArticleById", "ResourceNotFoundException");
+        long serviceOk = count("service", "ArticleServiceImpl", "getArticleById", "none");
+
+        articleController.getArticleById(article.getArticleId(), null, webRequest());
+        assertThatThrownBy(() -> articleController.getArticleById(Long.MAX_VALUE, null, webRequest()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(count("controller", "ArticleController", "getArticleById", "none")).isEqualTo(controllerOk + 1);
+        assertThat(count("controller", "ArticleController", "getArticleById", "ResourceNotFoundException"))
+                .isEqualTo(controllerNotFound + 1);
+        assertThat(count("service", "ArticleServiceImpl", "getArticleById", "ResourceNotFoundException"))
+                .isEqualTo(serviceNotFound + 1);
+        assertThat(count("service", "ArticleServiceImpl", "getArticleById", "none")).isEqualTo(serviceOk + 1);
+    }
+
+    private long count(String layer, String className, String method, String exception) {
+        Timer timer = registry.find(MethodMetricsAspect.METRIC)
+                .tags("layer", layer, "class", className, "method", method, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+}
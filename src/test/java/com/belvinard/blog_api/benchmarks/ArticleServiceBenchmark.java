@@ -0,0 +1,112 @@
+package com.belvinard.blog_api.benchmarks;
+
+import com.belvinard.blog_api.BlogApiApplication;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.service.ArticleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getAllArticles() end to end (repositories, Hibernate, mappers) against the
+ * embedded H2 database of the tests, for a first page and one deep in the
+ * feed. Rows are seeded with plain JDBC batches; each parameter combination
+ * runs in its own fork, so with its own database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArticleServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final String ARTICLE_INSERT = """
+            insert into articles (article_id, title, content, publication_date, last_updated, comment_count)
+            values (?, ?, ?, ?, ?, ?)""";
+    private static final String COMMENT_INSERT = """
+            insert into comments (comment_id, text, created_at, article_id) values (?, ?, ?, ?)""";
+
+    @Param({"1000", "10000"})
+    public int articles;
+
+    @Param({"0", "10", "100"})
+    public int commentsPerArticle;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private String deepCursor;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BlogApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // Seeding writes comment_count itself; keep the reconciler out of the way
+                        "blog.comment-count.reconcile-initial-delay=1h")
+                .run();
+        articleService = context.getBean(ArticleService.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        // Cursor of the page halfway through the feed
+        String cursor = null;
+        for (int page = 0; page < articles / PAGE_SIZE / 2; page++) {
+            cursor = articleService.getAllArticles(PAGE_SIZE, cursor).getNextCursor();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ArticleResponse firstPage() {
+        return articleService.getAllArticles(PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public ArticleResponse deepPage() {
+        return articleService.getAllArticles(PAGE_SIZE, deepCursor);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long articleId = 1; articleId <= articles; articleId++) {
+            Timestamp published = Timestamp.valueOf(start.plusSeconds(articleId));
+            rows.add(new Object[]{articleId, "Article number " + articleId,
+                    "Content of article number " + articleId, published, published, commentsPerArticle});
+            insertWhenFull(jdbcTemplate, ARTICLE_INSERT, rows, articleId == articles);
+        }
+
+        long commentId = 0;
+        for (long articleId = 1; articleId <= articles; articleId++) {
+            for (int i = 0; i < commentsPerArticle; i++) {
+                rows.add(new Object[]{++commentId, "Comment " + i + " on article " + articleId,
+                        Timestamp.valueOf(start.plusSeconds(articleId).plusNanos(i * 1_000_000L)), articleId});
+                insertWhenFull(jdbcTemplate, COMMENT_INSERT, rows,
+                        articleId == articles && i == commentsPerArticle - 1);
+            }
+        }
+    }
+
+    private static void insertWhenFull(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows, boolean last) {
+        if (rows.size() == INSERT_BATCH_SIZE || last) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
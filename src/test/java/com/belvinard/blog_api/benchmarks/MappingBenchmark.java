@@ -0,0 +1,95 @@
+package com.belvinard.blog_api.benchmarks;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.mappers.ArticleMapper;
+import com.belvinard.blog_api.mappers.CommentMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps 1k articles (5 comments each) to DTOs, the work done by a large
+ * getAllArticles() page: reflective ModelMapper vs the hand-written mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final int ARTICLES = 1_000;
+    private static final int COMMENTS_PER_ARTICLE = 5;
+
+    private List<Article> articles;
+    private ModelMapper modelMapper;
+    private ArticleMapper articleMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = legacyModelMapper();
+        articleMapper = new ArticleMapper(new CommentMapper());
+
+        LocalDateTime now = LocalDateTime.now();
+        articles = new ArrayList<>(ARTICLES);
+        for (long i = 0; i < ARTICLES; i++) {
+            Article article = new Article(i, "Article number " + i, "Content of article number " + i);
+            article.setPublicationDate(now);
+            article.setLastUpdated(now);
+            for (long j = 0; j < COMMENTS_PER_ARTICLE; j++) {
+                Comment comment = new Comment(j, "Comment " + j + " on article " + i, now, article);
+                article.getComments().add(comment);
+            }
+            articles.add(article);
+        }
+    }
+
+    @Benchmark
+    public List<ArticleDTO> modelMapper() {
+        List<ArticleDTO> articleDTOS = new ArrayList<>(ARTICLES);
+        for (Article article : articles) {
+            ArticleDTO articleDTO = modelMapper.map(article, ArticleDTO.class);
+            articleDTO.setComments(article.getComments().stream()
+                    .map(comment -> modelMapper.map(comment, CommentDTO.class))
+                    .toList());
+            articleDTOS.add(articleDTO);
+        }
+        return articleDTOS;
+    }
+
+    @Benchmark
+    public List<ArticleDTO> articleMapper() {
+        List<ArticleDTO> articleDTOS = new ArrayList<>(ARTICLES);
+        for (Article article : articles) {
+            articleDTOS.add(articleMapper.toDto(article));
+        }
+        return articleDTOS;
+    }
+
+    // The ModelMapper bean exactly as AppConfig used to configure it
+    static ModelMapper legacyModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setSkipNullEnabled(true);
+
+        modelMapper.typeMap(Article.class, ArticleDTO.class)
+                .addMappings(mapper -> {
+                    mapper.map(Article::getPublicationDate, ArticleDTO::setPublicationDate);
+                    mapper.map(Article::getLastUpdated, ArticleDTO::setLastUpdated);
+                    mapper.map(Article::getComments, ArticleDTO::setComments);
+                });
+
+        modelMapper.typeMap(Comment.class, CommentDTO.class)
+                .addMappings(mapper
+                        -> mapper.map(Comment::getCreatedAt, CommentDTO::setCreatedAt));
+
+        return modelMapper;
+    }
+}
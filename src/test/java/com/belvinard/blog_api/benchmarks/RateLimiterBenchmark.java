@@ -0,0 +1,57 @@
+package com.belvinard.blog_api.benchmarks;
+
+import com.belvinard.blog_api.ratelimit.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one admission decision of the rate limiter, from 4 threads at once:
+ * all on one client (contended CAS) or spread over many, admitted or
+ * rejected. Run with -t 1 for the uncontended cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private String[] keys;
+    // Never runs dry within a run, and always dry
+    private TokenBucketRateLimiter unlimited;
+    private TokenBucketRateLimiter exhausted;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+        unlimited = new TokenBucketRateLimiter(1e9, Integer.MAX_VALUE);
+        exhausted = new TokenBucketRateLimiter(1e-3, 1);
+        for (String key : keys) {
+            exhausted.tryAcquire(key);
+        }
+    }
+
+    @Benchmark
+    public long admitted(Cursor cursor) {
+        return unlimited.tryAcquire(keys[cursor.next++ % clients]);
+    }
+
+    @Benchmark
+    public long rejected(Cursor cursor) {
+        return exhausted.tryAcquire(keys[cursor.next++ % clients]);
+    }
+}
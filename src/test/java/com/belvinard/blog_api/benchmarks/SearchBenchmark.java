@@ -0,0 +1,132 @@
+package com.belvinard.blog_api.benchmarks;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.pagination.SearchCursor;
+import com.belvinard.blog_api.search.InvertedIndex;
+import com.belvinard.blog_api.search.SearchDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index over a synthetic corpus whose
+ * word frequencies follow Zipf's law, like natural text. Queries ask for one
+ * page (20 hits + 1) as searchArticles() does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int TITLE_WORDS = 4;
+    private static final int CONTENT_WORDS = 25;
+    private static final int PAGE_SIZE = 20;
+    // Zipf rank of the "very common" query word
+    private static final int COMMON_WORD = 10;
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ru", "ta", "vi", "so", "pe", "du", "ga", "ri", "zo", "be", "nu", "fa"};
+
+    @Param({"100000", "1000000"})
+    public int articles;
+
+    private InvertedIndex index;
+    private String[] vocabulary;
+    private SearchCursor secondPage;
+
+    @Setup
+    public void setUp() {
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int rank = 0; rank < VOCABULARY_SIZE; rank++) {
+            vocabulary[rank] = word(rank);
+        }
+        double[] cumulative = zipfCumulative(VOCABULARY_SIZE);
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<SearchDocument> documents = new ArrayList<>(articles);
+        for (long id = 1; id <= articles; id++) {
+            documents.add(new SearchDocument(id, text(TITLE_WORDS, cumulative, random),
+                    text(CONTENT_WORDS, cumulative, random), now));
+        }
+        index = new InvertedIndex();
+        index.rebuild(documents);
+
+        List<ArticleSearchHitDTO> firstPage = index.search(vocabulary[COMMON_WORD], null, PAGE_SIZE + 1);
+        ArticleSearchHitDTO last = firstPage.get(PAGE_SIZE - 1);
+        secondPage = new SearchCursor(last.getRank(), last.getArticleId());
+    }
+
+    // A mid-frequency word: a few hundred to a few thousand matches
+    @Benchmark
+    public List<ArticleSearchHitDTO> singleTerm() {
+        return index.search(vocabulary[2_000], null, PAGE_SIZE + 1);
+    }
+
+    // Very common word: ranking dominates (tens of thousands of matches)
+    @Benchmark
+    public List<ArticleSearchHitDTO> commonTerm() {
+        return index.search(vocabulary[COMMON_WORD], null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<ArticleSearchHitDTO> commonTermSecondPage() {
+        return index.search(vocabulary[COMMON_WORD], secondPage, PAGE_SIZE + 1);
+    }
+
+    // Intersection of a common and a mid-frequency word
+    @Benchmark
+    public List<ArticleSearchHitDTO> twoTerms() {
+        return index.search(vocabulary[COMMON_WORD] + " " + vocabulary[500], null, PAGE_SIZE + 1);
+    }
+
+    // Expands to every word starting with two syllables
+    @Benchmark
+    public List<ArticleSearchHitDTO> prefix() {
+        return index.search(vocabulary[300].substring(0, 4) + "*", null, PAGE_SIZE + 1);
+    }
+
+    // Distinct pronounceable words, at least two syllables long
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        int value = rank + SYLLABLES.length;
+        while (value > 0) {
+            word.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        }
+        return word.toString();
+    }
+
+    private static double[] zipfCumulative(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private String text(int words, double[] cumulative, SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[Math.min(rank < 0 ? -rank - 1 : rank, VOCABULARY_SIZE - 1)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.belvinard.blog_api.benchmarks;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one page of articles (20) carrying growing
+ * comment lists, with an ObjectMapper configured the way Spring Boot
+ * configures the one behind the controllers: into a byte[] (snapshots)
+ * or streamed to the response, as a page or as NDJSON export lines.
+ * Run with -prof gc for the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"3", "100", "1000"})
+    public int commentsPerArticle;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter exportWriter;
+    private ArticleResponse response;
+    // Stands in for the servlet output stream, without its buffer; never closed, as in the controllers
+    private final OutputStream out = StreamUtils.nonClosing(OutputStream.nullOutputStream());
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ArticleDTO> articles = new ArrayList<>(PAGE_SIZE);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            List<CommentDTO> comments = new ArrayList<>(commentsPerArticle);
+            for (int j = 0; j < commentsPerArticle; j++) {
+                comments.add(new CommentDTO("Comment " + j + " on article " + i, now.minusSeconds(j)));
+            }
+            ArticleDTO article = new ArticleDTO();
+            article.setArticleId(i);
+            article.setTitle("Article number " + i);
+            article.setContent("Content of article number " + i);
+            article.setPublicationDate(now);
+            article.setLastUpdated(now);
+            article.setComments(comments);
+            article.setCommentCount((long) commentsPerArticle);
+            articles.add(article);
+        }
+        response = new ArticleResponse(articles, "MjAyNS0wNC0wM1QxNjoyOTo1OS42NTAyODZ8Mw", true);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // What the message converter does for a list response
+    @Benchmark
+    public void streamPage() throws Exception {
+        objectMapper.writeValue(out, response);
+    }
+
+    // Export before: a byte[] per article
+    @Benchmark
+    public void exportLinesAsBytes() throws Exception {
+        for (ArticleDTO article : response.getContent()) {
+            out.write(objectMapper.writeValueAsBytes(article));
+            out.write('\n');
+        }
+    }
+
+    // Export now: one generator for the whole dump
+    @Benchmark
+    public void exportLinesStreamed() throws Exception {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (ArticleDTO article : response.getContent()) {
+                exportWriter.writeValue(generator, article);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.belvinard.blog_api.benchmarks;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding one page of articles (20) in each wire format the
+ * API negotiates, with ObjectMappers built the way the message converters
+ * build theirs. The encoded size of each page is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"3", "100"})
+    public int commentsPerArticle;
+
+    private ObjectMapper objectMapper;
+    private ArticleResponse response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ArticleDTO> articles = new ArrayList<>(PAGE_SIZE);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            List<CommentDTO> comments = new ArrayList<>(commentsPerArticle);
+            for (int j = 0; j < commentsPerArticle; j++) {
+                comments.add(new CommentDTO("Comment " + j + " on article " + i, now.minusSeconds(j)));
+            }
+            ArticleDTO article = new ArticleDTO(i, "Article number " + i,
+                    "Content of article number " + i + ", long enough to look like a real one.",
+                    now, now, comments);
+            article.setCommentCount((long) commentsPerArticle);
+            articles.add(article);
+        }
+        response = new ArticleResponse(articles, "MjAyNS0wNC0wM1QxNjoyOTo1OS42NTAyODZ8Mw", true);
+
+        encoded = objectMapper.writeValueAsBytes(response);
+        System.out.printf("%n%s page with %d comments per article: %,d bytes%n",
+                format, commentsPerArticle, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ArticleResponse decode() throws Exception {
+        return objectMapper.readValue(encoded, ArticleResponse.class);
+    }
+}
@@ -0,0 +1,111 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.service.CommentService;
+import com.belvinard.blog_api.snapshots.ArticlePageSnapshots;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArticleControllerFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ArticlePageSnapshots snapshots;
+
+    private Long articleId;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        snapshots.invalidateAll();
+        for (int i = 0; i < 3; i++) {
+            articleId = articleRepository.save(
+                    new Article(null, "Fields article " + i, "Content of fields article " + i)).getArticleId();
+            commentService.addComment(articleId, new CommentDTO("Comment on fields article " + i, null));
+        }
+    }
+
+    @Test
+    void listReturnsOnlyTheSelectedFields() throws Exception {
+        JsonNode page = json(mockMvc.perform(get("/api/articles").param("pageSize", "2")
+                        .param("fields", "articleId, title,commentCount"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(page.get("content")).hasSize(2);
+        for (JsonNode article : page.get("content")) {
+            assertThat(article.fieldNames()).toIterable().containsExactlyInAnyOrder("articleId", "title", "commentCount");
+            assertThat(article.get("commentCount").asLong()).isEqualTo(1);
+        }
+        assertThat(page.get("hasMore").asBoolean()).isTrue();
+
+        // The cursor works the same with a selection
+        JsonNode next = json(mockMvc.perform(get("/api/articles").param("pageSize", "2")
+                        .param("cursor", page.get("nextCursor").asText()).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(next.get("content")).hasSize(1);
+        assertThat(next.get("content").get(0).get("title").asText()).isEqualTo("Fields article 0");
+    }
+
+    @Test
+    void selectionHasItsOwnETag() throws Exception {
+        MvcResult full = mockMvc.perform(get("/api/articles/{id}", articleId)).andReturn();
+        MvcResult sparse = mockMvc.perform(get("/api/articles/{id}", articleId).param("fields", "title,comments"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode article = json(sparse);
+        assertThat(article.fieldNames()).toIterable().containsExactlyInAnyOrder("title", "comments");
+        assertThat(article.get("comments")).hasSize(1);
+
+        String eTag = sparse.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotEqualTo(full.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/articles/{id}", articleId).param("fields", "title,comments")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/articles/{id}", articleId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        JsonNode error = json(mockMvc.perform(get("/api/articles").param("fields", "title,body"))
+                .andExpect(status().isBadRequest())
+                .andReturn());
+
+        assertThat(error.get("message").asText()).startsWith("Unknown field body");
+        assertThat(error.get("status").asText()).isEqualTo("BAD_REQUEST");
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,221 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.datasource.StatementCountFilter;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.service.CommentService;
+import com.belvinard.blog_api.snapshots.ArticlePageSnapshots;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the SQL statements each ArticleController endpoint runs, as reported
+ * in X-Statement-Count. An endpoint going over its budget, for instance
+ * through an N+1 on the lazy comments, fails here; an endpoint getting
+ * cheaper should have its budget lowered.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArticleControllerStatementBudgetTest {
+
+    private static final int ARTICLES = 25;
+    private static final int COMMENTS_PER_ARTICLE = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ArticlePageSnapshots snapshots;
+
+    private final List<Article> articles = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        // The repository writes below publish no change events
+        snapshots.invalidateAll();
+        articles.clear();
+        for (int i = 0; i < ARTICLES; i++) {
+            Article article = articleRepository.save(
+                    new Article(null, "Budget article " + i, "Searchable content of article " + i));
+            for (int j = 0; j < COMMENTS_PER_ARTICLE; j++) {
+                commentService.addComment(article.getArticleId(), new CommentDTO("Comment " + j + " on the article", null));
+            }
+            articles.add(article);
+        }
+    }
+
+    @Test
+    void listPage() throws Exception {
+        // Version lookup (ids, versions), then the page and its comment previews
+        mockMvc.perform(get("/api/articles").param("pageSize", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(4));
+    }
+
+    @Test
+    void listPageSize() throws Exception {
+        // Same as for 20 articles: the previews of the whole page come in one query
+        mockMvc.perform(get("/api/articles").param("pageSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(4));
+    }
+
+    @Test
+    void listFirstPageFromSnapshot() throws Exception {
+        mockMvc.perform(get("/api/articles").param("pageSize", "20"));
+
+        mockMvc.perform(get("/api/articles").param("pageSize", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(0));
+    }
+
+    @Test
+    void listNextPage() throws Exception {
+        String cursor = objectMapper.readTree(mockMvc.perform(get("/api/articles").param("pageSize", "5"))
+                .andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/articles").param("pageSize", "5").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(4));
+    }
+
+    @Test
+    void listPageWithoutContentAndComments() throws Exception {
+        // Version lookup, then the summaries; no previews, and never the snapshot
+        mockMvc.perform(get("/api/articles").param("pageSize", "20").param("fields", "articleId,title,publicationDate"))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(3));
+    }
+
+    @Test
+    void getById() throws Exception {
+        // Article, its comments; the version is built from them
+        mockMvc.perform(get("/api/articles/{id}", id()))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(2));
+    }
+
+    @Test
+    void getByIdCached() throws Exception {
+        mockMvc.perform(get("/api/articles/{id}", id()));
+
+        // Article and version both come from the cache
+        mockMvc.perform(get("/api/articles/{id}", id()))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(0));
+    }
+
+    @Test
+    void getByIdWithoutContentAndComments() throws Exception {
+        // Version, summary
+        mockMvc.perform(get("/api/articles/{id}", id()).param("fields", "articleId,title"))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(2));
+    }
+
+    @Test
+    void getByIdNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/articles/{id}", id()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/articles/{id}", id()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(statementBudget(0));
+    }
+
+    @Test
+    void searchArticles() throws Exception {
+        // Served by the in-memory index of the tests
+        mockMvc.perform(get("/api/articles/search").param("q", "searchable"))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(0));
+    }
+
+    @Test
+    void createArticle() throws Exception {
+        // INSERT, plus a sequence fetch every 50 ids
+        mockMvc.perform(post("/api/articles").contentType(MediaType.APPLICATION_JSON)
+                        .content(article("Created article")))
+                .andExpect(status().isCreated())
+                .andExpect(statementBudget(2));
+    }
+
+    @Test
+    void createArticles() throws Exception {
+        // Title check and one batched INSERT whatever the size, plus sequence fetches
+        String body = IntStream.range(0, 30)
+                .mapToObj(i -> article("Bulk article " + i))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(post("/api/articles/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(4));
+    }
+
+    @Test
+    void patchArticle() throws Exception {
+        mockMvc.perform(patch("/api/articles/{id}", id()).contentType(MediaType.APPLICATION_JSON)
+                        .content(article("Patched article")))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(3));
+    }
+
+    @Test
+    void deleteArticle() throws Exception {
+        mockMvc.perform(delete("/api/articles/{id}", id()))
+                .andExpect(status().isOk())
+                .andExpect(statementBudget(4));
+    }
+
+    private Long id() {
+        return articles.get(0).getArticleId();
+    }
+
+    private static String article(String title) {
+        return """
+                {"title": "%s", "content": "Content of the %s"}""".formatted(title, title.toLowerCase());
+    }
+
+    private static ResultMatcher statementBudget(int budget) {
+        return result -> {
+            String header = result.getResponse().getHeader(StatementCountFilter.HEADER);
+            assertThat(header).as("%s header", StatementCountFilter.HEADER).isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(budget);
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.snapshots.ArticlePageSnapshots;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Keyset pagination of GET /api/articles: (publication_date DESC, article_id DESC)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArticlePaginationTest {
+
+    private static final int ARTICLES = 23;
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArticlePageSnapshots snapshots;
+
+    // In the expected page order
+    private final List<Long> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ARTICLES; i++) {
+            ids.add(articleRepository.save(
+                    new Article(null, "Paged article " + i, "Content of paged article " + i)).getArticleId());
+        }
+
+        // Two runs of equal publication dates, each longer than a page, so pages end inside them
+        LocalDateTime older = LocalDateTime.of(2025, 4, 1, 12, 0);
+        LocalDateTime newer = older.plusDays(1);
+        List<Long> olderIds = ids.subList(0, 10);
+        List<Long> newerIds = ids.subList(10, ARTICLES);
+        olderIds.forEach(id -> setPublicationDate(id, older));
+        newerIds.forEach(id -> setPublicationDate(id, newer));
+        snapshots.invalidateAll();
+
+        expected.clear();
+        newerIds.stream().sorted(Comparator.reverseOrder()).forEach(expected::add);
+        olderIds.stream().sorted(Comparator.reverseOrder()).forEach(expected::add);
+    }
+
+    @Test
+    void walksEveryPageWithoutDuplicatesOrGaps() throws Exception {
+        List<Long> seen = walk();
+
+        assertThat(seen).hasSize(ARTICLES).doesNotHaveDuplicates();
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void equalPublicationDatesKeepTheirOrderAcrossWalks() throws Exception {
+        assertThat(walk()).containsExactlyElementsOf(walk());
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() throws Exception {
+        String cursor = null;
+        JsonNode page;
+        do {
+            page = page(cursor);
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(page.get("hasMore").asBoolean()).isFalse();
+        assertThat(page.get("content")).hasSize(ARTICLES % PAGE_SIZE);
+    }
+
+    @Test
+    void malformedOrTamperedCursorIsABadRequest() throws Exception {
+        for (String cursor : List.of("not a cursor!", encode("no separator"), encode("2025-04-01T12:00|abc"),
+                encode("yesterday|42"), encode("|"))) {
+            mockMvc.perform(pageRequest(cursor))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value("BAD_REQUEST"));
+        }
+    }
+
+    private List<Long> walk() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page(cursor);
+            page.get("content").forEach(article -> seen.add(article.get("articleId").asLong()));
+            assertThat(page.get("hasMore").asBoolean()).isEqualTo(!page.get("nextCursor").isNull());
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private JsonNode page(String cursor) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(pageRequest(cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private static MockHttpServletRequestBuilder pageRequest(String cursor) {
+        MockHttpServletRequestBuilder request = get("/api/articles").param("pageSize", String.valueOf(PAGE_SIZE));
+        return cursor == null ? request : request.param("cursor", cursor);
+    }
+
+    private void setPublicationDate(Long articleId, LocalDateTime publicationDate) {
+        jdbcTemplate.update("update articles set publication_date = ? where article_id = ?", publicationDate, articleId);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
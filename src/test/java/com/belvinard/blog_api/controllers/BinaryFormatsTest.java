@@ -0,0 +1,138 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.config.JacksonConfig;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.service.CommentService;
+import com.belvinard.blog_api.snapshots.ArticlePageSnapshots;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatsTest {
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ArticlePageSnapshots snapshots;
+
+    private Long articleId;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        snapshots.invalidateAll();
+        for (int i = 0; i < 3; i++) {
+            articleId = articleRepository.save(
+                    new Article(null, "Binary article " + i, "Content of binary article " + i)).getArticleId();
+            commentService.addComment(articleId, new CommentDTO("Comment on binary article " + i, null));
+        }
+    }
+
+    @Test
+    void firstPageInCborIsNotTheJsonSnapshot() throws Exception {
+        MvcResult json = mockMvc.perform(get("/api/articles").param("pageSize", "2"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        MvcResult result = mockMvc.perform(get("/api/articles").param("pageSize", "2")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode page = cbor.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(page.get("content")).hasSize(2);
+        assertThat(page.get("content").get(0).get("title").asText()).isEqualTo("Binary article 2");
+        assertThat(page.get("content").get(0).get("publicationDate").isTextual()).isTrue();
+        assertThat(page.get("hasMore").asBoolean()).isTrue();
+
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotEqualTo(json.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/articles").param("pageSize", "2").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void fieldSelectionAppliesToBinaryFormats() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/articles/{id}", articleId).param("fields", "articleId,title")
+                        .accept(JacksonConfig.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(JacksonConfig.SMILE))
+                .andReturn();
+
+        JsonNode article = smile.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(article.fieldNames()).toIterable().containsExactlyInAnyOrder("articleId", "title");
+    }
+
+    @Test
+    void commentsInSmile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/articles/{id}/comments", articleId).accept(JacksonConfig.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(JacksonConfig.SMILE))
+                .andReturn();
+
+        JsonNode comments = smile.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(comments.get("content").get(0).get("text").asText()).isEqualTo("Comment on binary article 2");
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/articles/{id}", articleId).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/articles/{id}/comments", articleId)
+                        .header(HttpHeaders.ACCEPT, "application/json, application/cbor;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void firstPageIsGzippedOnlyWhenGzipIsAcceptable() throws Exception {
+        String plainETag = mockMvc.perform(get("/api/articles").param("pageSize", "2"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Our own gzip copy is a different, strong, representation
+        String gzipETag = plainETag.replaceFirst("^W/", "").replaceFirst("\"$", "-gzip\"");
+        for (String accepted : new String[] {"gzip", "gzip;q=0.5, identity", "*", "br, x-gzip;q=0.1"}) {
+            mockMvc.perform(get("/api/articles").param("pageSize", "2").header(HttpHeaders.ACCEPT_ENCODING, accepted))
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.ETAG, gzipETag));
+        }
+        for (String refused : new String[] {"gzip;q=0", "identity;q=1, gzip;q=0", "*, gzip;q=0", "*;q=0", "br"}) {
+            mockMvc.perform(get("/api/articles").param("pageSize", "2").header(HttpHeaders.ACCEPT_ENCODING, refused))
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(header().string(HttpHeaders.ETAG, plainETag));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.snapshots.ArticlePageSnapshots;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag / Last-Modified revalidation of the article GETs
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticlePageSnapshots snapshots;
+
+    private Long articleId;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        snapshots.invalidateAll();
+        articleId = articleRepository.save(
+                new Article(null, "Conditional article", "Content of the conditional article")).getArticleId();
+    }
+
+    @Test
+    void matchingETagAnswers304WithoutABody() throws Exception {
+        String eTag = eTag(mockMvc.perform(get("/api/articles/{id}", articleId)).andReturn());
+
+        mockMvc.perform(get("/api/articles/{id}", articleId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/articles").header(HttpHeaders.IF_NONE_MATCH,
+                        eTag(mockMvc.perform(get("/api/articles")).andReturn())))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void eTagChangesWithACommentAndWithAPatch() throws Exception {
+        String initial = eTag(mockMvc.perform(get("/api/articles/{id}", articleId)).andReturn());
+
+        mockMvc.perform(post("/api/articles/{id}/comments", articleId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\": \"A comment changes it\"}"))
+                .andExpect(status().isCreated());
+        String commented = eTag(mockMvc.perform(get("/api/articles/{id}", articleId)
+                        .header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(commented).isNotEqualTo(initial);
+
+        // PATCH validates the whole body, as POST does
+        mockMvc.perform(patch("/api/articles/{id}", articleId)
+                        .contentType(MediaType.APPLICATION_JSON).content("""
+                                {"title": "Patched article", "content": "Patched content of the article"}"""))
+                .andExpect(status().isOk());
+        String patched = eTag(mockMvc.perform(get("/api/articles/{id}", articleId)
+                        .header(HttpHeaders.IF_NONE_MATCH, commented))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(patched).isNotEqualTo(commented).isNotEqualTo(initial);
+    }
+
+    @Test
+    void ifModifiedSinceIsAnsweredFromLastModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/articles/{id}", articleId)).andReturn();
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(lastModified).isNotNull();
+
+        mockMvc.perform(get("/api/articles/{id}", articleId).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        String secondEarlier = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).minusSeconds(1));
+        mockMvc.perform(get("/api/articles/{id}", articleId).header(HttpHeaders.IF_MODIFIED_SINCE, secondEarlier))
+                .andExpect(status().isOk());
+
+        // If-None-Match wins over If-Modified-Since
+        mockMvc.perform(get("/api/articles/{id}", articleId)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"some-other-version\""))
+                .andExpect(status().isOk());
+    }
+
+    private static String eTag(MvcResult result) {
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+        return eTag;
+    }
+}
@@ -0,0 +1,101 @@
+package com.belvinard.blog_api.controllers;
+
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tomcat's server.compression, which MockMvc does not run: a real port and a client
+// that leaves gzip bodies as they are. Own database, as the context is a separate one
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json,application/x-ndjson,application/cbor,application/x-jackson-smile",
+        "server.compression.min-response-size=2KB",
+        "spring.datasource.url=jdbc:h2:mem:blog-api-compression;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+class ResponseCompressionTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        // Content is at most 200 characters: pages of PAGE_SIZE are still past min-response-size
+        for (int i = 0; i < 3 * PAGE_SIZE; i++) {
+            articleRepository.save(new Article(null, "Compressed article " + i,
+                    ("Content of compressed article " + i + ". ").repeat(5)));
+        }
+    }
+
+    @Test
+    void cursorPageIsGzippedWhenAccepted() throws Exception {
+        String cursor = objectMapper.readTree(send("/api/articles?pageSize=" + PAGE_SIZE, null).body())
+                .get("nextCursor").asText();
+        String cursorPage = "/api/articles?pageSize=" + PAGE_SIZE + "&cursor=" + cursor;
+
+        HttpResponse<byte[]> gzipped = send(cursorPage, "gzip");
+        assertThat(gzipped.statusCode()).isEqualTo(200);
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzipped.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(
+                eTag -> assertThat(eTag).startsWith("W/\""));
+        JsonNode page = objectMapper.readTree(gunzip(gzipped.body()));
+        assertThat(page.get("content")).hasSize(PAGE_SIZE);
+
+        // Same validator either way, so the gzipped copy revalidates the plain one
+        HttpResponse<byte[]> plain = send(cursorPage, null);
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(plain.headers().firstValue(HttpHeaders.ETAG))
+                .isEqualTo(gzipped.headers().firstValue(HttpHeaders.ETAG));
+        assertThat(objectMapper.readTree(plain.body())).isEqualTo(page);
+    }
+
+    @Test
+    void fieldSelectionIsGzippedWhenAccepted() throws Exception {
+        HttpResponse<byte[]> response = send("/api/articles?pageSize=" + PAGE_SIZE + "&fields=articleId,content",
+                "gzip");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+    }
+
+    private HttpResponse<byte[]> send(String path, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.belvinard.blog_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replicas are separate in-memory databases, each knowing its own name
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds from replica_lag";
+
+    private HikariDataSource primary;
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicas.add(database("replica-0"));
+        replicas.add(database("replica-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicasAndWritesToPrimary() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN));
+        TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<String> reads = new ArrayList<>();
+        transactions.setReadOnly(true);
+        for (int i = 0; i < 4; i++) {
+            reads.add(transactions.execute(status -> name(jdbcTemplate)));
+        }
+        transactions.setReadOnly(false);
+        String write = transactions.execute(status -> name(jdbcTemplate));
+
+        assertThat(reads).containsExactly("replica-0", "replica-1", "replica-0", "replica-1");
+        assertThat(write).isEqualTo("primary");
+        assertThat(name(jdbcTemplate)).isEqualTo("primary");  // No transaction at all
+    }
+
+    @Test
+    void leastConnectionsAvoidsBusyReplica() throws Exception {
+        ReplicaRoutingDataSource router = router(ReplicaRoutingDataSource.Selection.LEAST_CONNECTIONS);
+
+        try (Connection busy = replicas.get(0).getConnection()) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(router.select()).isSameAs(replicas.get(1));
+            }
+        }
+    }
+
+    @Test
+    void laggingReplicasAreSkippedUntilTheyCatchUp() {
+        ReplicaRoutingDataSource router = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        setLag(replicas.get(0), 30);
+        router.checkReplicaLag();
+        assertThat(List.of(router.select(), router.select())).containsOnly(replicas.get(1));
+
+        setLag(replicas.get(1), 30);
+        router.checkReplicaLag();
+        assertThat(router.select()).isSameAs(primary);
+
+        setLag(replicas.get(0), 0);
+        router.checkReplicaLag();
+        assertThat(router.select()).isSameAs(replicas.get(0));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replicas.get(0)),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(5), LAG_QUERY);
+
+        replicas.get(0).close();
+        router.checkReplicaLag();
+
+        assertThat(router.select()).isSameAs(primary);
+    }
+
+    private ReplicaRoutingDataSource router(ReplicaRoutingDataSource.Selection selection) {
+        return new ReplicaRoutingDataSource(primary, List.copyOf(replicas), selection, Duration.ofSeconds(5),
+                LAG_QUERY);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(4);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        jdbcTemplate.execute("create table replica_lag (seconds double)");
+        jdbcTemplate.update("insert into replica_lag values (0)");
+        return dataSource;
+    }
+
+    private static void setLag(DataSource replica, double seconds) {
+        new JdbcTemplate(replica).update("update replica_lag set seconds = ?", seconds);
+    }
+
+    private static String name(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.belvinard.blog_api.ingestion;
+
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.repositories.CommentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database, so this context and the default one don't drop each other's tables
+@SpringBootTest(properties = {
+        "blog.comments.write-behind.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:blog-api-write-behind;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class CommentBatchWriterTest {
+
+    @Autowired
+    private CommentWriteBehindQueue queue;
+
+    @Autowired
+    private CommentBatchWriter writer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Article article;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        articleRepository.deleteAll();
+        article = articleRepository.save(new Article(null, "Hot article", "Article drawing a comment storm"));
+    }
+
+    @Test
+    void queuedCommentsAreSavedInBatchesWithoutLoadingTheArticle() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 200; i++) {
+            queue.submit(article.getArticleId(), "Queued comment number " + i);
+        }
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+        // Hundreds of rows, a handful of transactions
+        assertThat(statistics.getTransactionCount()).isLessThan(20);
+        assertThat(commentRepository.count()).isEqualTo(200);
+        assertThat(articleRepository.findById(article.getArticleId()).orElseThrow().getCommentCount())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void commentsOfUnknownArticlesAreRejectedBeforeTheyAreQueued() throws Exception {
+        mockMvc.perform(post("/api/articles/{id}/comments", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Comment on an article that does not exist\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/articles/{id}/comments", article.getArticleId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Comment on an article that does exist\"}"))
+                .andExpect(status().isAccepted());
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+
+        assertThat(commentRepository.count()).isEqualTo(1);
+        assertThat(articleRepository.findById(article.getArticleId()).orElseThrow().getCommentCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void commentsOfArticlesDeletedAfterQueueingAreDropped() {
+        Set<Long> written = writer.write(List.of(
+                new PendingComment(Long.MAX_VALUE, "Comment on an article deleted meanwhile"),
+                new PendingComment(article.getArticleId(), "Comment on an article that does exist")));
+
+        assertThat(written).containsExactly(article.getArticleId());
+        assertThat(commentRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.belvinard.blog_api.ingestion;
+
+import com.belvinard.blog_api.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The writer is a stub that can be held, to let comments pile up in the queue
+class CommentWriteBehindQueueTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private CommentWriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void commentsQueuedWhileTheWriterIsBusyAreWrittenInBatches() throws Exception {
+        queue = start(1000, 50);
+
+        queue.submit(1L, "first comment");
+        waitForFirstBatch();
+        for (int i = 0; i < 120; i++) {
+            queue.submit(1L, "comment " + i);
+        }
+        release.countDown();
+
+        assertThat(queue.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(batchSizes).containsExactly(1, 50, 50, 20);
+    }
+
+    @Test
+    void fullQueueIsRejected() throws Exception {
+        queue = start(3, 50);
+
+        queue.submit(1L, "held by the writer");
+        waitForFirstBatch();
+        for (int i = 0; i < 3; i++) {
+            queue.submit(1L, "comment " + i);
+        }
+
+        assertThatThrownBy(() -> queue.submit(1L, "one too many"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void stopFlushesTheQueue() throws Exception {
+        queue = start(1000, 50);
+
+        queue.submit(1L, "held by the writer");
+        waitForFirstBatch();
+        for (int i = 0; i < 10; i++) {
+            queue.submit(1L, "comment " + i);
+        }
+        release.countDown();
+        queue.stop();
+
+        assertThat(queue.size()).isZero();
+        assertThat(batchSizes).containsExactly(1, 10);
+    }
+
+    private CommentWriteBehindQueue start(int capacity, int batchSize) {
+        CommentBatchWriter writer = new CommentBatchWriter(null, null, null) {
+            @Override
+            public boolean articleExists(Long articleId) {
+                return true;
+            }
+
+            @Override
+            public Set<Long> write(List<PendingComment> batch) {
+                batchSizes.add(batch.size());
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return Set.of(1L);
+            }
+        };
+        CommentWriteBehindQueue started = new CommentWriteBehindQueue(writer, new ConcurrentMapCacheManager(),
+                capacity, batchSize);
+        started.start();
+        return started;
+    }
+
+    private void waitForFirstBatch() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batchSizes.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(batchSizes).hasSize(1);
+    }
+}
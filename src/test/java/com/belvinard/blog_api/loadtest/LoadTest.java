@@ -0,0 +1,155 @@
+package com.belvinard.blog_api.loadtest;
+
+import com.belvinard.blog_api.BlogApiApplication;
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.service.ArticleService;
+import com.belvinard.blog_api.service.CommentService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts the application with platform request threads, with virtual
+ * threads and in the reactive profile (WebFlux + R2DBC), and drives
+ * GET /api/articles from many concurrent clients against each. Prints throughput, latency percentiles and status codes.
+ * <p>
+ * mvn -Ploadtest test-compile exec:exec [-Dloadtest.clients=400 -Dloadtest.seconds=20]
+ * <p>
+ * Runs on the test datasource (in-memory H2); pass -Dspring.datasource.url=...
+ * (and username/password) to load a real PostgreSQL, where JDBC waits dominate.
+ */
+public class LoadTest {
+
+    private static final int ARTICLES = 200;
+    private static final int COMMENTS_PER_ARTICLE = 5;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 400);
+        Duration measured = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+
+        List<String> report = new ArrayList<>();
+        for (String mode : new String[]{"platform", "virtual", "reactive"}) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApiApplication.class)
+                    .profiles(mode.equals("reactive") ? new String[]{"reactive"} : new String[0])
+                    .properties("server.port=0",
+                            "spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                            // Every client comes from the same address
+                            "blog.rate-limit.enabled=false",
+                            "logging.level.root=WARN")
+                    .run()) {
+                seed(context);
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                Result result = run(URI.create("http://localhost:" + port + "/api/articles?pageSize=20"),
+                        clients, measured);
+                report.add(String.format("%-9s %10.1f %9.1f %9.1f %9.1f   %s",
+                        mode, result.throughput(),
+                        result.percentile(0.50), result.percentile(0.99), result.percentile(0.999),
+                        result.statuses()));
+            }
+        }
+
+        System.out.printf("%n%d clients, %d s measured after %d s warm-up%n",
+                clients, measured.toSeconds(), WARMUP.toSeconds());
+        System.out.printf("%-9s %10s %9s %9s %9s   %s%n", "mode", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "statuses");
+        report.forEach(System.out::println);
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        ArticleService articleService = context.getBean(ArticleService.class);
+        CommentService commentService = context.getBean(CommentService.class);
+
+        List<ArticleDTO> articleDTOs = new ArrayList<>(ARTICLES);
+        for (int i = 0; i < ARTICLES; i++) {
+            ArticleDTO articleDTO = new ArticleDTO();
+            articleDTO.setTitle("Load test article " + i);
+            articleDTO.setContent("Content of load test article " + i);
+            articleDTOs.add(articleDTO);
+        }
+        articleService.createArticles(articleDTOs).getResults().stream()
+                .filter(result -> result.getArticleId() != null)
+                .forEach(result -> {
+                    for (int j = 0; j < COMMENTS_PER_ARTICLE; j++) {
+                        CommentDTO commentDTO = new CommentDTO();
+                        commentDTO.setText("Load test comment number " + j);
+                        commentService.addComment(result.getArticleId(), commentDTO);
+                    }
+                });
+    }
+
+    // Every client sends its next request as soon as the previous one completes
+    private static Result run(URI uri, int clients, Duration measured) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long deadline = measureFrom + measured.toNanos();
+
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        long[][] latencies = new long[clients][];
+        try (HttpClient httpClient = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int index = client;
+                executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        int status;
+                        try {
+                            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception ex) {
+                            status = -1;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom && end <= deadline) {
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = end - now;
+                            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        }
+                    }
+                    latencies[index] = Arrays.copyOf(samples, count);
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(measured.plus(WARMUP).toSeconds() + 120, TimeUnit.SECONDS);
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(all, measured, statusCounts);
+    }
+
+    private record Result(long[] sortedLatencies, Duration measured, Map<Integer, Long> statuses) {
+
+        double throughput() {
+            return sortedLatencies.length / (double) measured.toSeconds();
+        }
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
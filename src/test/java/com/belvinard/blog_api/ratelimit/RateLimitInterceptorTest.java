@@ -0,0 +1,82 @@
+package com.belvinard.blog_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database, so this context and the default one don't drop each other's tables.
+// Each test uses its own client addresses, the buckets outlive the tests
+@SpringBootTest(properties = {
+        "blog.rate-limit.enabled=true",
+        "blog.rate-limit.write.permits-per-second=0.1",
+        "blog.rate-limit.write.burst=2",
+        "blog.rate-limit.api-key-header=X-API-Key",
+        "spring.datasource.url=jdbc:h2:mem:blog-api-rate-limit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class RateLimitInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void writesOverBudgetGet429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(createArticle("10.0.0.1", "Limited article " + i))
+                    .andExpect(status().isCreated());
+        }
+
+        // 0.1 write per second: the next token is 10 seconds away
+        mockMvc.perform(createArticle("10.0.0.1", "Limited article 2"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.status").value("TOO_MANY_REQUESTS"));
+        mockMvc.perform(post("/api/articles/{id}/comments", 1).with(from("10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\": \"Comment over budget\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // Reads have their own budget, other clients their own buckets
+        mockMvc.perform(get("/api/articles").with(from("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(createArticle("10.0.0.2", "Other client article"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void apiKeysAreBudgetedSeparatelyFromTheirAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(createArticle("10.0.1.1", "Keyless article " + i))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(createArticle("10.0.1.1", "Keyed article").header("X-API-Key", "partner"))
+                .andExpect(status().isCreated());
+    }
+
+    private static MockHttpServletRequestBuilder createArticle(String address, String title) {
+        return post("/api/articles").with(from(address))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "%s", "content": "Content of the %s"}""".formatted(title, title.toLowerCase()));
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
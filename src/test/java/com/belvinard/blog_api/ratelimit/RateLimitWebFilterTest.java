@@ -0,0 +1,54 @@
+package com.belvinard.blog_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// Own database, as RateLimitInterceptorTest. Clients are told apart by API key:
+// the test client has no remote address
+@SpringBootTest(properties = {
+        "blog.rate-limit.enabled=true",
+        "blog.rate-limit.write.permits-per-second=0.1",
+        "blog.rate-limit.write.burst=2",
+        "blog.rate-limit.api-key-header=X-API-Key",
+        "spring.datasource.url=jdbc:h2:mem:blog-api-reactive-rate-limit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///blog-api-reactive-rate-limit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class RateLimitWebFilterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void reactiveWritesOverBudgetGet429WithRetryAfter() {
+        for (int i = 0; i < 2; i++) {
+            createArticle("reactive-client", "Reactive limited " + i).expectStatus().isCreated();
+        }
+
+        // 0.1 write per second: the next token is 10 seconds away
+        createArticle("reactive-client", "Reactive limited 2")
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "10")
+                .expectBody().jsonPath("$.status").isEqualTo("TOO_MANY_REQUESTS");
+
+        // Reads have their own budget, other clients their own buckets
+        webTestClient.get().uri("/api/articles").header("X-API-Key", "reactive-client")
+                .exchange().expectStatus().isOk();
+        createArticle("other-reactive-client", "Other reactive article").expectStatus().isCreated();
+    }
+
+    private WebTestClient.ResponseSpec createArticle(String apiKey, String title) {
+        return webTestClient.post().uri("/api/articles").header("X-API-Key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"title": "%s", "content": "Content of the %s"}""".formatted(title, title.toLowerCase()))
+                .exchange();
+    }
+}
@@ -0,0 +1,87 @@
+package com.belvinard.blog_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The clock is frozen unless a test moves it
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(Long.MAX_VALUE - TimeUnit.SECONDS.toNanos(5));
+
+    @Test
+    void burstThenOnePermitPerRefillPeriod() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("client")).isZero();
+        }
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Across the nanoTime wrap-around, as System.nanoTime may
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+
+        // Refills up to the burst, not beyond
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("client")).isZero();
+        }
+        assertThat(limiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void clientsHaveTheirOwnBucketsAndIdleOnesAreEvicted() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, now::get);
+
+        assertThat(limiter.tryAcquire("first")).isZero();
+        assertThat(limiter.tryAcquire("first")).isPositive();
+        assertThat(limiter.tryAcquire("second")).isZero();
+
+        limiter.evictIdle();
+        assertThat(limiter.size()).isEqualTo(2);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdle();
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    void concurrentRequestsNeverGetMoreThanTheBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1_000, now::get);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 1_000; j++) {
+                    if (limiter.tryAcquire("client") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(admitted).hasValue(1_000);
+    }
+}
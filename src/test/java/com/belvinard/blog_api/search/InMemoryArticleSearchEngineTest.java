@@ -0,0 +1,57 @@
+package com.belvinard.blog_api.search;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.responses.ArticleSearchResponse;
+import com.belvinard.blog_api.service.ArticleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tests run with blog.search.engine=memory: searches through ArticleService hit the index
+@SpringBootTest
+class InMemoryArticleSearchEngineTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+    }
+
+    @Test
+    void searchArticlesFollowsChangesWithoutQueryingTheDatabase() {
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle("Quokka field notes");
+        articleDTO.setContent("Observations of quokkas on Rottnest Island");
+        Long articleId = articleService.createArticle(articleDTO).getArticleId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ArticleSearchResponse response = articleService.searchArticles("quokka", 10, null);
+
+        assertThat(response.getContent()).singleElement().satisfies(hit -> {
+            assertThat(hit.getArticleId()).isEqualTo(articleId);
+            assertThat(hit.getTitleHighlight()).isEqualTo("<b>Quokka</b> field notes");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(articleService.searchArticles("quokkas*", 10, null).getContent()).hasSize(1);
+
+        articleService.deleteArticle(articleId);
+
+        assertThat(articleService.searchArticles("quokka", 10, null).getContent()).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.belvinard.blog_api.search;
+
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.pagination.SearchCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.rebuild(List.of(
+                document(1, "Introduction to HTML5", "HTML5 is the latest version of the HyperText Markup Language"),
+                document(2, "Styling with CSS", "CSS describes how HTML elements are displayed on screen"),
+                document(3, "JavaScript basics", "Scripts make web pages interactive"),
+                document(4, "Spring Boot caching", "Caching articles with Caffeine in a Spring application")));
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndHighlightsThem() {
+        List<ArticleSearchHitDTO> hits = index.search("html5", null, 10);
+
+        assertThat(hits).extracting(ArticleSearchHitDTO::getArticleId).containsExactly(1L);
+        assertThat(hits.get(0).getTitleHighlight()).isEqualTo("Introduction to <b>HTML5</b>");
+        assertThat(hits.get(0).getContentHighlight())
+                .startsWith("<b>HTML5</b> is the latest version");
+
+        List<ArticleSearchHitDTO> html = index.search("html*", null, 10);
+        assertThat(html).extracting(ArticleSearchHitDTO::getArticleId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void requiresEveryWordAndHonoursExclusions() {
+        assertThat(index.search("spring caching", null, 10))
+                .extracting(ArticleSearchHitDTO::getArticleId).containsExactly(4L);
+        assertThat(index.search("spring javascript", null, 10)).isEmpty();
+        assertThat(index.search("html* -css", null, 10))
+                .extracting(ArticleSearchHitDTO::getArticleId).containsExactly(1L);
+        // Plurals are folded: "scripts" is indexed as "script"
+        assertThat(index.search("script", null, 10))
+                .extracting(ArticleSearchHitDTO::getArticleId).containsExactly(3L);
+    }
+
+    @Test
+    void foldsPrefixesLikeIndexedTerms() {
+        // "scripts*" is "script*", which the indexed "script" (from "Scripts") matches
+        List<ArticleSearchHitDTO> hits = index.search("scripts*", null, 10);
+
+        assertThat(hits).extracting(ArticleSearchHitDTO::getArticleId).containsExactly(3L);
+        assertThat(hits.get(0).getContentHighlight()).startsWith("<b>Scripts</b> make web pages");
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.put(document(3, "TypeScript basics", "Types for web pages"));
+        index.remove(1);
+
+        assertThat(index.search("javascript", null, 10)).isEmpty();
+        assertThat(index.search("typescript", null, 10))
+                .extracting(ArticleSearchHitDTO::getArticleId).containsExactly(3L);
+        assertThat(index.search("html*", null, 10))
+                .extracting(ArticleSearchHitDTO::getArticleId).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void pagesThroughEqualRanksWithTheCursor() {
+        List<SearchDocument> documents = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            documents.add(document(id, "Article number " + id, "Same content for every article"));
+        }
+        index.rebuild(documents);
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = null;
+        List<ArticleSearchHitDTO> page;
+        do {
+            page = index.search("content", cursor, 10);
+            page.forEach(hit -> seen.add(hit.getArticleId()));
+            if (!page.isEmpty()) {
+                ArticleSearchHitDTO last = page.get(page.size() - 1);
+                cursor = new SearchCursor(last.getRank(), last.getArticleId());
+            }
+        } while (page.size() == 10);
+
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates().isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    private static SearchDocument document(long id, String title, String content) {
+        return new SearchDocument(id, title, content, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,101 @@
+package com.belvinard.blog_api.service.impl;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.entity.Comment;
+import com.belvinard.blog_api.jobs.CommentCountReconciler;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.repositories.CommentRepository;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.service.ArticleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ArticleServiceImplQueryCountTest {
+
+    private static final int ARTICLES = 8;
+    private static final int COMMENTS_PER_ARTICLE = 5;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentCountReconciler commentCountReconciler;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        for (int i = 0; i < ARTICLES; i++) {
+            Article article = articleRepository.save(
+                    new Article(null, "Article number " + i, "Content of article number " + i));
+            for (int j = 0; j < COMMENTS_PER_ARTICLE; j++) {
+                Comment comment = new Comment();
+                comment.setText("Comment " + j + " on article " + i);
+                comment.setArticle(article);
+                commentRepository.save(comment);
+            }
+        }
+
+        // The fixture bypasses CommentService: let the reconciler fill comment_count
+        assertThat(commentCountReconciler.reconcile()).isEqualTo(ARTICLES);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllArticlesLoadsCommentPreviewsWithoutNPlusOne() {
+        ArticleResponse response = articleService.getAllArticles(ARTICLES, null);
+
+        assertThat(response.getContent()).hasSize(ARTICLES);
+        assertThat(response.getContent()).allSatisfy(article -> {
+            assertThat(article.getComments()).hasSize(3);
+            assertThat(article.getCommentCount()).isEqualTo(COMMENTS_PER_ARTICLE);
+        });
+        // One query for the page, one for the comment previews of the whole page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void patchArticleWithUnchangedValuesIssuesNoUpdate() {
+        Article article = articleRepository.findAll().get(0);
+        ArticleDTO patch = new ArticleDTO();
+        patch.setTitle(article.getTitle());
+
+        articleService.patchArticle(article.getArticleId(), patch);
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void patchArticleUpdatesChangedFieldsOnly() {
+        Article article = articleRepository.findAll().get(0);
+        ArticleDTO patch = new ArticleDTO();
+        patch.setTitle("A brand new title");
+
+        ArticleDTO patched = articleService.patchArticle(article.getArticleId(), patch);
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(patched.getTitle()).isEqualTo("A brand new title");
+        assertThat(patched.getContent()).isEqualTo(article.getContent());
+    }
+}
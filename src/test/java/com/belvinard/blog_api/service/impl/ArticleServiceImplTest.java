@@ -0,0 +1,81 @@
+package com.belvinard.blog_api.service.impl;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.responses.BulkArticleResponse;
+import com.belvinard.blog_api.responses.BulkArticleResult;
+import com.belvinard.blog_api.service.ArticleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ArticleServiceImplTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createArticlesInsertsInJdbcBatches() {
+        List<ArticleDTO> articleDTOs = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            articleDTOs.add(article("Bulk article " + i));
+        }
+        articleDTOs.add(articleDTOs.get(0));           // duplicate inside the request
+        articleDTOs.add(new ArticleDTO());             // invalid
+
+        BulkArticleResponse response = articleService.createArticles(articleDTOs);
+
+        assertThat(response.getCreated()).isEqualTo(120);
+        assertThat(response.getResults().get(120).getStatus()).isEqualTo(BulkArticleResult.Status.DUPLICATE);
+        assertThat(response.getResults().get(121).getStatus()).isEqualTo(BulkArticleResult.Status.INVALID);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // Title check, a few sequence calls and 3 JDBC batches, not 120 statements
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void createArticleRejectsDuplicateTitleWithoutLookup() {
+        articleService.createArticle(article("Taken title"));
+        statistics.clear();
+
+        assertThatThrownBy(() -> articleService.createArticle(article("Taken title")))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("already exists");
+        // The INSERT alone detects the duplicate, no SELECT by title first
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+    }
+
+    private static ArticleDTO article(String title) {
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle(title);
+        articleDTO.setContent("Content of " + title);
+        return articleDTO;
+    }
+}
@@ -0,0 +1,99 @@
+package com.belvinard.blog_api.service.impl;
+
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.entity.Article;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.responses.CommentResponse;
+import com.belvinard.blog_api.service.CommentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class CommentServiceImplTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Article article;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        article = articleRepository.save(new Article(null, "Paged comments", "Article with many comments"));
+        for (int i = 0; i < 7; i++) {
+            commentService.addComment(article.getArticleId(),
+                    new CommentDTO("Comment number " + i + " on the article", null));
+        }
+    }
+
+    @Test
+    void getCommentsByArticleWalksAllPagesNewestFirst() {
+        List<String> texts = new ArrayList<>();
+        String cursor = null;
+        do {
+            CommentResponse page = commentService.getCommentsByArticle(article.getArticleId(), 3, cursor);
+            page.getContent().forEach(comment -> texts.add(comment.getText()));
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(texts).hasSize(7).doesNotHaveDuplicates();
+        assertThat(texts.get(0)).isEqualTo("Comment number 6 on the article");
+    }
+
+    @Test
+    void getCommentsByArticleRejectsUnknownArticle() {
+        assertThatThrownBy(() -> commentService.getCommentsByArticle(Long.MAX_VALUE, 3, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void addCommentKeepsCommentCountWithoutLoadingTheArticle() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        commentService.addComment(article.getArticleId(), new CommentDTO("One more comment on it", null));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(articleRepository.findById(article.getArticleId()).orElseThrow().getCommentCount())
+                .isEqualTo(8);
+    }
+
+    @Test
+    void addCommentRejectsUnknownArticle() {
+        assertThatThrownBy(() -> commentService.addComment(Long.MAX_VALUE,
+                new CommentDTO("Comment on nothing at all", null)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    // Replica routing keys on the read-only flag the transaction manager sees
+    @Test
+    void getCommentsByArticleRunsInReadOnlyTransaction() throws Exception {
+        TransactionAttribute attribute = new AnnotationTransactionAttributeSource().getTransactionAttribute(
+                CommentServiceImpl.class.getMethod("getCommentsByArticle", Long.class, int.class, String.class),
+                CommentServiceImpl.class);
+
+        assertThat(attribute).isNotNull();
+        assertThat(attribute.isReadOnly()).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.belvinard.blog_api.service.impl;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.ArticleSearchHitDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.exceptions.ResourceNotFoundException;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.responses.ArticleResponse;
+import com.belvinard.blog_api.service.ArticleService;
+import com.belvinard.blog_api.service.ReactiveArticleService;
+import com.belvinard.blog_api.service.ReactiveCommentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveArticleServiceImplTest {
+
+    @Autowired
+    private ReactiveArticleService articleService;
+
+    @Autowired
+    private ReactiveCommentService commentService;
+
+    @Autowired
+    private ArticleService blockingArticleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+    }
+
+    @Test
+    void getAllArticlesWalksAllPagesWithCommentPreviews() {
+        for (int i = 0; i < 5; i++) {
+            ArticleDTO article = articleService.createArticle(article("Reactive article " + i)).block();
+            for (int j = 0; j <= i; j++) {
+                commentService.addComment(article.getArticleId(),
+                        new CommentDTO("Comment number " + j + " here", null)).block();
+            }
+        }
+
+        List<ArticleDTO> articles = new ArrayList<>();
+        String cursor = null;
+        do {
+            ArticleResponse page = articleService.getAllArticles(2, cursor).block();
+            articles.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(articles).extracting(ArticleDTO::getTitle).containsExactly(
+                "Reactive article 4", "Reactive article 3", "Reactive article 2",
+                "Reactive article 1", "Reactive article 0");
+        assertThat(articles.get(0).getCommentCount()).isEqualTo(5);
+        assertThat(articles.get(0).getComments()).hasSize(3);
+        assertThat(articles.get(4).getComments()).hasSize(1);
+    }
+
+    @Test
+    void createArticleRejectsDuplicateTitle() {
+        articleService.createArticle(article("Unique reactive")).block();
+
+        assertThatThrownBy(() -> articleService.createArticle(article("Unique reactive")).block())
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void patchAndDeleteKeepSearchIndexInSync() {
+        Long articleId = articleService.createArticle(article("Original title")).block().getArticleId();
+
+        ArticleDTO patch = new ArticleDTO();
+        patch.setTitle("Nebula sighting");
+        ArticleDTO patched = articleService.patchArticle(articleId, patch).block();
+        assertThat(patched.getTitle()).isEqualTo("Nebula sighting");
+        assertThat(patched.getContent()).isEqualTo("Content written reactively");
+        assertThat(blockingArticleService.searchArticles("nebula", 10, null).getContent())
+                .extracting(ArticleSearchHitDTO::getArticleId).containsExactly(articleId);
+
+        commentService.addComment(articleId, new CommentDTO("Doomed comment text", null)).block();
+        assertThat(articleService.deleteArticle(articleId).block().getComments()).hasSize(1);
+        assertThat(blockingArticleService.searchArticles("nebula", 10, null).getContent()).isEmpty();
+        assertThatThrownBy(() -> articleService.getArticleById(articleId).block())
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void exportArticlesStreamsEveryArticleWithItsComments() {
+        for (int i = 0; i < 3; i++) {
+            ArticleDTO article = articleService.createArticle(article("Exported article " + i)).block();
+            commentService.addComment(article.getArticleId(), new CommentDTO("Exported comment", null)).block();
+        }
+
+        List<ArticleDTO> exported = articleService.exportArticles().collectList().block();
+
+        assertThat(exported).hasSize(3).allSatisfy(article -> {
+            assertThat(article.getComments()).hasSize(1);
+            assertThat(article.getCommentCount()).isEqualTo(1);
+        });
+    }
+
+    private static ArticleDTO article(String title) {
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle(title);
+        articleDTO.setContent("Content written reactively");
+        return articleDTO;
+    }
+}
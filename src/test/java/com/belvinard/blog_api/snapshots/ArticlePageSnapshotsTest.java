@@ -0,0 +1,93 @@
+package com.belvinard.blog_api.snapshots;
+
+import com.belvinard.blog_api.dtos.ArticleDTO;
+import com.belvinard.blog_api.dtos.CommentDTO;
+import com.belvinard.blog_api.repositories.ArticleRepository;
+import com.belvinard.blog_api.service.ArticleService;
+import com.belvinard.blog_api.service.CommentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ArticlePageSnapshotsTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private ArticlePageSnapshots snapshots;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Oldest first
+    private final List<Long> articleIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        snapshots.invalidateAll();
+        articleIds.clear();
+        for (int i = 0; i < 5; i++) {
+            articleIds.add(articleService.createArticle(article("Snapshot article " + i)).getArticleId());
+        }
+    }
+
+    @Test
+    void snapshotHoldsTheSerializedFirstPageAndItsGzipCopy() throws Exception {
+        ArticlePageSnapshots.Snapshot snapshot = snapshots.firstPage(PAGE_SIZE);
+
+        JsonNode page = objectMapper.readTree(snapshot.json());
+        assertThat(page.get("content")).hasSize(PAGE_SIZE);
+        assertThat(page.get("content").get(0).get("articleId").asLong()).isEqualTo(articleIds.get(4));
+        assertThat(page.get("hasMore").asBoolean()).isTrue();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(snapshot.json());
+        }
+        assertThat(snapshots.firstPage(PAGE_SIZE)).isSameAs(snapshot);
+    }
+
+    @Test
+    void onlyChangesThatReachThePageDropIt() {
+        ArticlePageSnapshots.Snapshot snapshot = snapshots.firstPage(PAGE_SIZE);
+
+        // Articles 0 and 1 are past the first page
+        commentService.addComment(articleIds.get(0), new CommentDTO("Comment further down the feed", null));
+        articleService.patchArticle(articleIds.get(1), article("Patched old article"));
+        assertThat(snapshots.firstPage(PAGE_SIZE)).isSameAs(snapshot);
+
+        commentService.addComment(articleIds.get(4), new CommentDTO("Comment on the newest article", null));
+        ArticlePageSnapshots.Snapshot afterComment = snapshots.firstPage(PAGE_SIZE);
+        assertThat(afterComment).isNotSameAs(snapshot);
+        assertThat(afterComment.version().eTag()).isNotEqualTo(snapshot.version().eTag());
+
+        articleService.createArticle(article("Brand new article"));
+        assertThat(snapshots.firstPage(PAGE_SIZE)).isNotSameAs(afterComment);
+    }
+
+    private static ArticleDTO article(String title) {
+        ArticleDTO article = new ArticleDTO();
+        article.setTitle(title);
+        article.setContent("Content of the " + title.toLowerCase());
+        return article;
+    }
+}